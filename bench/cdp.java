@@ -0,0 +1,150 @@
+// Elliot Project - Cliente mínimo do Chrome DevTools Protocol
+// =============================================
+// Fala com o Chrome via --remote-debugging-pipe (fd 3 = escrita, fd 4 =
+// leitura, mensagens JSON terminadas em \0). Sem dependências externas:
+// não precisa de puppeteer nem de WebSocket.
+// =============================================
+const { spawn } = require('child_process');
+const fs = require('fs');
+const os = require('os');
+const path = require('path');
+
+const CHROME_CANDIDATES = [
+    process.env.CHROME_PATH,
+    '/usr/bin/google-chrome',
+    '/usr/bin/google-chrome-stable',
+    '/usr/bin/chromium',
+    '/usr/bin/chromium-browser',
+    '/Applications/Google Chrome.app/Contents/MacOS/Google Chrome'
+];
+
+function findChrome() {
+    return CHROME_CANDIDATES.find(candidate => candidate && fs.existsSync(candidate));
+}
+
+function launchChrome(options = {}) {
+    const executable = options.executable || findChrome();
+    if (!executable) {
+        throw new Error('Chrome/Chromium não encontrado. Defina CHROME_PATH.');
+    }
+
+    const userDataDir = fs.mkdtempSync(path.join(os.tmpdir(), 'elliot-bench-'));
+    const args = [
+        '--headless=new',
+        '--remote-debugging-pipe',
+        '--no-first-run',
+        '--no-default-browser-check',
+        '--disable-extensions',
+        '--disable-background-networking',
+        '--disable-component-update',
+        '--disable-sync',
+        `--user-data-dir=${userDataDir}`
+    ].concat(options.args || []);
+
+    const child = spawn(executable, args, {
+        stdio: ['ignore', 'ignore', 'inherit', 'pipe', 'pipe']
+    });
+
+    const client = new CdpClient(child.stdio[3], child.stdio[4]);
+    client.close = () => {
+        child.kill();
+        fs.rmSync(userDataDir, { recursive: true, force: true });
+    };
+    return client;
+}
+
+class CdpClient {
+    constructor(writable, readable) {
+        this.writable = writable;
+        this.nextId = 1;
+        this.pending = new Map();
+        this.listeners = [];
+        this.buffer = '';
+
+        readable.setEncoding('utf8');
+        readable.on('data', chunk => this.receive(chunk));
+    }
+
+    receive(chunk) {
+        this.buffer += chunk;
+        let end;
+        while ((end = this.buffer.indexOf('\0')) !== -1) {
+            const message = JSON.parse(this.buffer.slice(0, end));
+            this.buffer = this.buffer.slice(end + 1);
+            this.dispatch(message);
+        }
+    }
+
+    dispatch(message) {
+        if (message.id !== undefined) {
+            const call = this.pending.get(message.id);
+            if (!call) return;
+            this.pending.delete(message.id);
+            if (message.error) {
+                call.reject(new Error(`${call.method}: ${message.error.message}`));
+            } else {
+                call.resolve(message.result);
+            }
+            return;
+        }
+
+        this.listeners.slice().forEach(listener => {
+            if (listener.method === message.method &&
+                (!listener.sessionId || listener.sessionId === message.sessionId)) {
+                listener.callback(message.params, message.sessionId);
+            }
+        });
+    }
+
+    send(method, params = {}, sessionId) {
+        const id = this.nextId++;
+        const message = { id, method, params };
+        if (sessionId) message.sessionId = sessionId;
+
+        return new Promise((resolve, reject) => {
+            this.pending.set(id, { method, resolve, reject });
+            this.writable.write(JSON.stringify(message) + '\0');
+        });
+    }
+
+    on(method, callback, sessionId) {
+        const listener = { method, callback, sessionId };
+        this.listeners.push(listener);
+        return () => {
+            const index = this.listeners.indexOf(listener);
+            if (index !== -1) this.listeners.splice(index, 1);
+        };
+    }
+
+    once(method, sessionId, timeout = 30000) {
+        return new Promise((resolve, reject) => {
+            const timer = setTimeout(() => {
+                off();
+                reject(new Error(`Timeout esperando ${method}`));
+            }, timeout);
+            const off = this.on(method, params => {
+                clearTimeout(timer);
+                off();
+                resolve(params);
+            }, sessionId);
+        });
+    }
+
+    // Abre uma aba e devolve uma sessão "flatten" ligada a ela
+    async openPage() {
+        const { targetId } = await this.send('Target.createTarget', { url: 'about:blank' });
+        const { sessionId } = await this.send('Target.attachToTarget', { targetId, flatten: true });
+        const client = this;
+
+        return {
+            targetId,
+            sessionId,
+            send: (method, params) => client.send(method, params, sessionId),
+            on: (method, callback) => client.on(method, callback, sessionId),
+            once: (method, timeout) => client.once(method, sessionId, timeout),
+            close: () => client.send('Target.closeTarget', { targetId })
+        };
+    }
+}
+
+module.exports = { launchChrome, findChrome, CdpClient };
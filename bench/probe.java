@@ -0,0 +1,39 @@
+// Elliot Project - Sonda de métricas injetada nas páginas do benchmark
+// Roda antes de qualquer script da página (Page.addScriptToEvaluateOnNewDocument)
+// =============================================
+(function() {
+    const probe = window.__benchProbe = {
+        lcp: 0,
+        cls: 0,
+        inp: 0,
+        longTasks: 0,
+        totalBlockingTime: 0
+    };
+
+    function observe(type, callback, extra) {
+        try {
+            new PerformanceObserver(list => list.getEntries().forEach(callback))
+                .observe(Object.assign({ type, buffered: true }, extra));
+        } catch (e) {
+            // Tipo de entrada não suportado neste navegador
+        }
+    }
+
+    observe('largest-contentful-paint', entry => {
+        probe.lcp = entry.startTime;
+    });
+
+    observe('layout-shift', entry => {
+        if (!entry.hadRecentInput) probe.cls += entry.value;
+    });
+
+    observe('longtask', entry => {
+        probe.longTasks++;
+        probe.totalBlockingTime += Math.max(0, entry.duration - 50);
+    });
+
+    // INP aproximado: maior duração entre as interações do cenário
+    observe('event', entry => {
+        if (entry.interactionId) probe.inp = Math.max(probe.inp, entry.duration);
+    }, { durationThreshold: 16 });
+})();
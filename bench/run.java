@@ -0,0 +1,376 @@
+// Elliot Project - Benchmark de performance das páginas
+// Uso: node bench/run.java [--profile=mobile|desktop] [--page=index.html] [--json=saida.json]
+//                          [--bfcache=off]
+// =============================================
+// 1. Sobe o servidor estático local (tools/serve.java) em uma porta livre.
+// 2. Abre cada página no Chrome headless, com os CDNs (Google Fonts,
+//    Font Awesome, YouTube, Unsplash) respondidos localmente por stubs:
+//    roda offline e sem variação de rede.
+// 3. Executa o cenário: scroll até o fim e volta, tema, menu e modal.
+// 4. Mede LCP, CLS, INP, long tasks/TBT, reflows forçados, tempo de
+//    script, recálculos de estilo e heap JS.
+// 5. Verifica se a página vai para o back/forward cache: navega para outra
+//    página do site e volta pelo histórico (e o pageshow chega ao
+//    lifecycle.java).
+// 6. Compara com bench/budgets.json e sai com código 1 se algo estourar
+//    ou se alguma página não voltar do bfcache.
+// =============================================
+const fs = require('fs');
+const path = require('path');
+const { createServer } = require('../tools/serve.java');
+const { launchChrome } = require('./cdp.java');
+
+const ROOT = path.resolve(__dirname, '..');
+const PROBE = fs.readFileSync(path.join(__dirname, 'probe.java'), 'utf8');
+const BUDGETS = JSON.parse(fs.readFileSync(path.join(__dirname, 'budgets.json'), 'utf8'));
+
+const PAGES = [
+    'index.html',
+    'games.html',
+    'nexus.html',
+    'tecnologia.html',
+    'animes.html',
+    'criancas.html'
+];
+
+const PROFILES = {
+    mobile: {
+        viewport: { width: 390, height: 844, deviceScaleFactor: 3, mobile: true },
+        cpuThrottling: 4
+    },
+    desktop: {
+        viewport: { width: 1366, height: 768, deviceScaleFactor: 1, mobile: false },
+        cpuThrottling: 1
+    }
+};
+
+// =============================================
+// 1. STUBS DOS CDNs
+// =============================================
+const TRANSPARENT_GIF = 'R0lGODlhAQABAIAAAAAAAP///yH5BAEAAAAALAAAAAABAAEAAAIBRAA7';
+
+const STUBS = [
+    { pattern: '*://fonts.googleapis.com/*', contentType: 'text/css', body: '' },
+    { pattern: '*://fonts.gstatic.com/*', contentType: 'font/woff2', body: '' },
+    { pattern: '*://cdnjs.cloudflare.com/*', contentType: 'text/css', body: '' },
+    { pattern: '*://i.ytimg.com/*', contentType: 'image/gif', body: TRANSPARENT_GIF },
+    { pattern: '*://images.unsplash.com/*', contentType: 'image/gif', body: TRANSPARENT_GIF },
+    { pattern: '*://www.youtube.com/*', contentType: 'text/html', body: '' },
+    { pattern: '*://www.google.com/*', contentType: 'text/plain', body: '' }
+];
+
+function wildcardToRegExp(pattern) {
+    return new RegExp('^' + pattern.split('*').map(part => part.replace(/[.?+^$[\]\\(){}|-]/g, '\\$&')).join('.*') + '$');
+}
+
+const STUB_MATCHERS = STUBS.map(stub => Object.assign({ regexp: wildcardToRegExp(stub.pattern) }, stub));
+
+async function installStubs(page) {
+    page.on('Fetch.requestPaused', ({ requestId, request }) => {
+        const stub = STUB_MATCHERS.find(candidate => candidate.regexp.test(request.url));
+        page.send('Fetch.fulfillRequest', {
+            requestId,
+            responseCode: 200,
+            responseHeaders: [
+                { name: 'Content-Type', value: stub ? stub.contentType : 'text/plain' },
+                { name: 'Access-Control-Allow-Origin', value: '*' }
+            ],
+            body: stub && stub.contentType === 'image/gif' ? stub.body : Buffer.from(stub ? stub.body : '').toString('base64')
+        }).catch(() => {});
+    });
+
+    await page.send('Fetch.enable', {
+        patterns: STUBS.map(stub => ({ urlPattern: stub.pattern }))
+    });
+}
+
+// =============================================
+// 2. CENÁRIO DE INTERAÇÕES
+// =============================================
+const sleep = ms => new Promise(resolve => setTimeout(resolve, ms));
+
+async function evaluate(page, expression) {
+    const { result } = await page.send('Runtime.evaluate', { expression, returnByValue: true, awaitPromise: true });
+    return result.value;
+}
+
+// Clica no centro do primeiro elemento visível que casar com o seletor
+async function click(page, selector) {
+    const point = await evaluate(page, `(() => {
+        const el = document.querySelector(${JSON.stringify(selector)});
+        if (!el) return null;
+        el.scrollIntoView({ block: 'center' });
+        const rect = el.getBoundingClientRect();
+        if (!rect.width || !rect.height) return null;
+        return { x: rect.left + rect.width / 2, y: rect.top + rect.height / 2 };
+    })()`);
+    if (!point) return false;
+
+    await page.send('Input.dispatchMouseEvent', { type: 'mouseMoved', x: point.x, y: point.y });
+    await page.send('Input.dispatchMouseEvent', { type: 'mousePressed', x: point.x, y: point.y, button: 'left', clickCount: 1 });
+    await page.send('Input.dispatchMouseEvent', { type: 'mouseReleased', x: point.x, y: point.y, button: 'left', clickCount: 1 });
+    await sleep(300);
+    return true;
+}
+
+async function pressKey(page, key) {
+    await page.send('Input.dispatchKeyEvent', { type: 'keyDown', key });
+    await page.send('Input.dispatchKeyEvent', { type: 'keyUp', key });
+    await sleep(200);
+}
+
+async function scrollThrough(page, profile) {
+    const height = await evaluate(page, 'document.documentElement.scrollHeight - innerHeight');
+    const x = profile.viewport.width / 2;
+    const y = profile.viewport.height / 2;
+
+    await page.send('Input.synthesizeScrollGesture', { x, y, yDistance: -height, speed: 2000, gestureSourceType: 'touch' });
+    await sleep(300);
+    await page.send('Input.synthesizeScrollGesture', { x, y, yDistance: height, speed: 4000, gestureSourceType: 'touch' });
+    await sleep(300);
+}
+
+const SCENARIO = [
+    { name: 'scroll', run: (page, profile) => scrollThrough(page, profile) },
+    { name: 'theme-toggle', run: async page => (await click(page, '#themeBtn')) && click(page, '#themeBtn') },
+    { name: 'menu', run: async page => (await click(page, '#mobileMenuBtn')) && click(page, '#mobileMenuBtn') },
+    { name: 'modal', run: async page => (await click(page, '.youtube-card')) && pressKey(page, 'Escape') }
+];
+
+// =============================================
+// 3. COLETA DE MÉTRICAS
+// =============================================
+function metricMap(result) {
+    const map = {};
+    result.metrics.forEach(metric => {
+        map[metric.name] = metric.value;
+    });
+    return map;
+}
+
+// Layout com stack trace de JS = reflow forçado (leitura síncrona de layout)
+function countForcedReflows(events) {
+    return events.filter(event =>
+        event.name === 'Layout' && event.args && event.args.beginData && event.args.beginData.stackTrace
+    ).length;
+}
+
+async function collectTrace(page, action) {
+    const events = [];
+    const off = page.on('Tracing.dataCollected', ({ value }) => events.push(...value));
+
+    await page.send('Tracing.start', {
+        categories: 'devtools.timeline,disabled-by-default-devtools.timeline.stack',
+        transferMode: 'ReportEvents'
+    });
+    await action();
+    const complete = page.once('Tracing.tracingComplete');
+    await page.send('Tracing.end');
+    await complete;
+    off();
+    return events;
+}
+
+async function measurePage(browser, baseUrl, pageName, profile) {
+    const page = await browser.openPage();
+
+    await page.send('Page.enable');
+    await page.send('Runtime.enable');
+    await page.send('Performance.enable');
+    await page.send('Emulation.setDeviceMetricsOverride', profile.viewport);
+    await page.send('Emulation.setCPUThrottlingRate', { rate: profile.cpuThrottling });
+    if (profile.viewport.mobile) {
+        await page.send('Emulation.setTouchEmulationEnabled', { enabled: true, maxTouchPoints: 5 });
+    }
+    await page.send('Page.addScriptToEvaluateOnNewDocument', { source: PROBE });
+    await installStubs(page);
+
+    const before = metricMap(await page.send('Performance.getMetrics'));
+    const steps = [];
+
+    const events = await collectTrace(page, async () => {
+        const loaded = page.once('Page.loadEventFired');
+        await page.send('Page.navigate', { url: `${baseUrl}/${pageName}` });
+        await loaded;
+        await sleep(1000);
+
+        for (const step of SCENARIO) {
+            const started = Date.now();
+            const ran = await step.run(page, profile);
+            if (ran !== false) steps.push({ name: step.name, ms: Date.now() - started });
+        }
+        await sleep(500);
+    });
+
+    const after = metricMap(await page.send('Performance.getMetrics'));
+    const probe = await evaluate(page, 'window.__benchProbe');
+    await page.close();
+
+    return {
+        page: pageName,
+        steps,
+        metrics: {
+            lcp: Math.round(probe.lcp),
+            cls: Number(probe.cls.toFixed(3)),
+            inp: Math.round(probe.inp),
+            longTasks: probe.longTasks,
+            totalBlockingTime: Math.round(probe.totalBlockingTime),
+            forcedReflows: countForcedReflows(events),
+            layoutCount: after.LayoutCount - before.LayoutCount,
+            recalcStyleCount: after.RecalcStyleCount - before.RecalcStyleCount,
+            scriptingMs: Math.round((after.ScriptDuration - before.ScriptDuration) * 1000),
+            jsHeapMB: Number((after.JSHeapUsedSize / 1048576).toFixed(2))
+        }
+    };
+}
+
+// =============================================
+// 4. BACK/FORWARD CACHE
+// =============================================
+// Página → outra página do site → voltar. Se a página não foi guardada, o
+// Chrome avisa com Page.backForwardCacheNotUsed e os motivos (unload,
+// Cache-Control: no-store, conexões abertas...).
+async function navigateAndWait(page, url) {
+    const loaded = page.once('Page.loadEventFired');
+    await page.send('Page.navigate', { url });
+    await loaded;
+    await sleep(500);
+}
+
+async function checkBfcache(browser, baseUrl, pageName) {
+    const page = await browser.openPage();
+    const reasons = [];
+
+    await page.send('Page.enable');
+    await page.send('Runtime.enable');
+    await installStubs(page);
+    const offNotUsed = page.on('Page.backForwardCacheNotUsed', ({ notRestoredExplanations }) => {
+        (notRestoredExplanations || []).forEach(explanation => reasons.push(explanation.reason));
+    });
+
+    await navigateAndWait(page, `${baseUrl}/${pageName}`);
+    await navigateAndWait(page, `${baseUrl}/${PAGES.find(name => name !== pageName)}`);
+
+    // Só a navegação do frame principal interessa (iframes também navegam)
+    const { currentIndex, entries } = await page.send('Page.getNavigationHistory');
+    const navigated = new Promise(resolve => {
+        const off = page.on('Page.frameNavigated', ({ frame, type }) => {
+            if (frame.parentId) return;
+            off();
+            resolve(type);
+        });
+    });
+    await page.send('Page.navigateToHistoryEntry', { entryId: entries[currentIndex - 1].id });
+    const type = await navigated;
+    await sleep(300);
+
+    const restores = await evaluate(page, "typeof PageLifecycle === 'undefined' ? -1 : PageLifecycle.restores");
+    offNotUsed();
+    await page.close();
+
+    return {
+        restored: type === 'BackForwardCacheRestore',
+        reasons,
+        restores
+    };
+}
+
+function bfcacheCheck(bfcache) {
+    const ok = bfcache.restored && bfcache.restores > 0;
+    let value = 'sim';
+    if (!bfcache.restored) value = bfcache.reasons.length ? bfcache.reasons.join(', ') : 'não';
+    else if (bfcache.restores <= 0) value = 'sem pageshow';
+    return { metric: 'bfcache', value, budget: 'sim', ok };
+}
+
+// =============================================
+// 5. ORÇAMENTOS
+// =============================================
+function budgetFor(profileName, pageName) {
+    const profileBudgets = BUDGETS[profileName] || {};
+    return Object.assign({}, profileBudgets.default, (profileBudgets.pages || {})[pageName]);
+}
+
+function checkBudgets(result, budget) {
+    return Object.keys(budget).map(metric => ({
+        metric,
+        value: result.metrics[metric],
+        budget: budget[metric],
+        ok: result.metrics[metric] <= budget[metric]
+    }));
+}
+
+function printReport(profileName, results) {
+    let failures = 0;
+    console.log(`\nPerfil: ${profileName}`);
+
+    results.forEach(result => {
+        console.log(`\n${result.page}`);
+        result.checks.forEach(check => {
+            if (!check.ok) failures++;
+            const status = check.ok ? 'ok ' : 'FALHOU';
+            console.log(`  ${status.padEnd(6)} ${check.metric.padEnd(18)} ${String(check.value).padStart(8)}  (orçamento ${check.budget})`);
+        });
+        result.steps.forEach(step => console.log(`         cenário ${step.name}: ${step.ms} ms`));
+    });
+
+    return failures;
+}
+
+// =============================================
+// 6. EXECUÇÃO
+// =============================================
+function parseArgs(argv) {
+    const args = {};
+    argv.forEach(arg => {
+        const match = /^--([\w-]+)=(.*)$/.exec(arg);
+        if (match) args[match[1]] = match[2];
+    });
+    return args;
+}
+
+async function main() {
+    const args = parseArgs(process.argv.slice(2));
+    const profileName = args.profile || 'mobile';
+    const profile = PROFILES[profileName];
+    if (!profile) throw new Error(`Perfil desconhecido: ${profileName}`);
+
+    const pages = args.page ? [args.page] : PAGES;
+    const browser = launchChrome();
+    const server = createServer(args.root || ROOT);
+    await new Promise(resolve => server.listen(0, '127.0.0.1', resolve));
+    const baseUrl = `http://127.0.0.1:${server.address().port}`;
+    const results = [];
+
+    try {
+        for (const pageName of pages) {
+            const result = await measurePage(browser, baseUrl, pageName, profile);
+            result.checks = checkBudgets(result, budgetFor(profileName, pageName));
+            if (args.bfcache !== 'off') {
+                result.bfcache = await checkBfcache(browser, baseUrl, pageName);
+                result.checks.push(bfcacheCheck(result.bfcache));
+            }
+            results.push(result);
+        }
+    } finally {
+        browser.close();
+        server.close();
+    }
+
+    if (args.json) {
+        fs.writeFileSync(args.json, JSON.stringify({ profile: profileName, results }, null, 2));
+    }
+
+    const failures = printReport(profileName, results);
+    console.log(failures ? `\n${failures} orçamento(s) estourado(s)` : '\nTodos os orçamentos respeitados');
+    process.exitCode = failures ? 1 : 0;
+}
+
+if (require.main === module) {
+    main().catch(error => {
+        console.error(error.message);
+        process.exitCode = 2;
+    });
+}
+
+module.exports = { measurePage, checkBfcache, checkBudgets, budgetFor, SCENARIO, PAGES, PROFILES };
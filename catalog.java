@@ -0,0 +1,246 @@
+// Elliot Project - Catálogos a partir de dados (JSON + <template>)
+// =============================================
+// Os itens dos catálogos (animes, capas de jogos, vídeos) ficam em
+// data/*.json; a página só traz o contêiner e o molde:
+//
+//   <div class="anime-grid" data-catalog="data/animes.json"
+//        data-group="cyberpunk" data-template="anime-card-template"></div>
+//   <template id="anime-card-template">
+//     <div class="anime-card" data-attr="id:id data-year:year">
+//       <h3 class="anime-title" data-field="title"></h3> ...
+//   </template>
+//
+// Ligações no molde (resolvidas uma vez por molde, não por item):
+//   data-field="chave"          → textContent
+//   data-attr="attr:chave ..."  → atributos (listas viram "a,b")
+//   data-vars="--prop:chave"    → propriedades CSS customizadas
+//   data-html="chave"           → marcação gerada pelas ferramentas
+//                                 (ex.: <picture> do tools/images.java)
+// Ordem de renderização:
+//   1. Os itens da primeira tela (data-initial, ou INITIAL_ITEMS se o
+//      contêiner já está visível) entram de uma vez, num único append.
+//   2. O resto entra em fatias de no máximo SLICE_BUDGET ms, cedendo a vez
+//      à entrada do usuário entre elas (scheduler.yield, ou
+//      requestIdleCallback, ou setTimeout).
+// Cada fatia dispara 'catalog:chunk' (detail.nodes) no contêiner; no fim,
+// 'catalog:done'. Os dados de cada card ficam em Catalog.dataFor(card),
+// fonte estruturada para busca e facetas. Um link para #id de um item que
+// ainda não existe renderiza até ele e rola até lá.
+// =============================================
+const Catalog = (function() {
+    const INITIAL_ITEMS = 6;
+    const SLICE_BUDGET = 8; // ms por fatia
+    const IDLE_TIMEOUT = 200;
+    const BINDINGS = ['data-field', 'data-attr', 'data-vars', 'data-html'];
+    const BINDING_SELECTOR = BINDINGS.map(name => `[${name}]`).join(',');
+
+    const sources = new Map();
+    const compiled = new WeakMap();
+    const itemData = new WeakMap();
+    let sliceSlot = null;
+
+    // =============================================
+    // 1. DADOS
+    // =============================================
+    // Uma requisição por arquivo, compartilhada por todos os contêineres
+    function load(url) {
+        if (!sources.has(url)) {
+            sources.set(url, fetch(url).then(response => {
+                if (!response.ok) throw new Error(`${url}: HTTP ${response.status}`);
+                return response.json();
+            }));
+        }
+        return sources.get(url);
+    }
+
+    function dataFor(element) {
+        return itemData.get(element) || null;
+    }
+
+    // =============================================
+    // 2. MOLDES
+    // =============================================
+    function pairs(value) {
+        return value.trim().split(/\s+/).map(pair => {
+            const split = pair.lastIndexOf(':');
+            return [pair.slice(0, split), pair.slice(split + 1)];
+        });
+    }
+
+    // Caminho (índices de filhos) da raiz até o elemento
+    function pathTo(root, element) {
+        const path = [];
+        while (element !== root) {
+            path.unshift(Array.prototype.indexOf.call(element.parentElement.children, element));
+            element = element.parentElement;
+        }
+        return path;
+    }
+
+    // O protótipo sai do molde sem os atributos de ligação; cada item é um
+    // clone dele, com as ligações aplicadas pelos caminhos guardados
+    function compile(template) {
+        let binding = compiled.get(template);
+        if (binding) return binding;
+
+        const prototype = template.content.firstElementChild.cloneNode(true);
+        const bound = Array.from(prototype.querySelectorAll(BINDING_SELECTOR));
+        if (prototype.matches(BINDING_SELECTOR)) bound.unshift(prototype);
+
+        const targets = bound.map(element => {
+            const target = {
+                path: pathTo(prototype, element),
+                field: element.getAttribute('data-field'),
+                html: element.getAttribute('data-html'),
+                attrs: element.hasAttribute('data-attr') ? pairs(element.getAttribute('data-attr')) : [],
+                vars: element.hasAttribute('data-vars') ? pairs(element.getAttribute('data-vars')) : []
+            };
+            BINDINGS.forEach(name => element.removeAttribute(name));
+            return target;
+        });
+
+        binding = { prototype, targets };
+        compiled.set(template, binding);
+        return binding;
+    }
+
+    function present(value) {
+        return value !== undefined && value !== null && value !== '';
+    }
+
+    function build(binding, item) {
+        const node = binding.prototype.cloneNode(true);
+
+        binding.targets.forEach(target => {
+            let element = node;
+            for (let i = 0; i < target.path.length; i++) element = element.children[target.path[i]];
+
+            if (target.field && present(item[target.field])) element.textContent = item[target.field];
+            if (target.html && present(item[target.html])) element.innerHTML = item[target.html];
+            target.attrs.forEach(([name, key]) => {
+                const value = item[key];
+                if (present(value)) element.setAttribute(name, Array.isArray(value) ? value.join(',') : value);
+            });
+            target.vars.forEach(([name, key]) => {
+                if (present(item[key])) element.style.setProperty(name, item[key]);
+            });
+        });
+
+        itemData.set(node, item);
+        return node;
+    }
+
+    // =============================================
+    // 3. RENDERIZAÇÃO EM FATIAS
+    // =============================================
+    // Resolve com o orçamento (ms) da próxima fatia
+    function nextSlice() {
+        if (window.scheduler && typeof scheduler.yield === 'function') {
+            return scheduler.yield().then(() => SLICE_BUDGET);
+        }
+        if ('requestIdleCallback' in window) {
+            return new Promise(resolve => requestIdleCallback(deadline => {
+                resolve(Math.min(SLICE_BUDGET, deadline.timeRemaining()));
+            }, { timeout: IDLE_TIMEOUT }));
+        }
+        return new Promise(resolve => setTimeout(() => resolve(SLICE_BUDGET), 0));
+    }
+
+    function announce(container, type, detail) {
+        container.dispatchEvent(new CustomEvent(type, { bubbles: true, detail }));
+    }
+
+    // Custo de cada fatia (telemetry.java, se presente)
+    function sliceMetric() {
+        if (sliceSlot === null && typeof Telemetry !== 'undefined') sliceSlot = Telemetry.metric('catalog-slice');
+        return sliceSlot === null ? -1 : sliceSlot;
+    }
+
+    function append(container, nodes) {
+        const fragment = document.createDocumentFragment();
+        nodes.forEach(node => fragment.appendChild(node));
+        container.appendChild(fragment);
+        announce(container, 'catalog:chunk', { nodes });
+    }
+
+    // Item apontado pela URL (#id) que ainda não foi renderizado
+    function hashTarget(items) {
+        const id = decodeURIComponent(location.hash.slice(1));
+        if (!id || document.getElementById(id)) return -1;
+        return items.findIndex(item => item.id === id);
+    }
+
+    // render(contêiner, itens, { template, initial })
+    async function render(container, items, options = {}) {
+        const template = typeof options.template === 'string' ?
+            document.getElementById(options.template) : options.template;
+        if (!template) throw new Error('Catalog: molde não encontrado');
+
+        const binding = compile(template);
+        const target = hashTarget(items);
+        let initial = options.initial !== undefined ? options.initial :
+            (container.getBoundingClientRect().top < window.innerHeight ? INITIAL_ITEMS : 0);
+        initial = Math.min(items.length, Math.max(initial, target + 1));
+
+        container.setAttribute('aria-busy', 'true');
+        if (initial) append(container, items.slice(0, initial).map(item => build(binding, item)));
+        if (target !== -1) document.getElementById(items[target].id).scrollIntoView();
+
+        let index = initial;
+        while (index < items.length) {
+            const budget = await nextSlice();
+            const slot = sliceMetric();
+            const start = performance.now();
+            let end = index + 1;
+
+            // Pelo menos um item por fatia; o resto enquanto houver orçamento
+            const nodes = [build(binding, items[index])];
+            while (end < items.length && performance.now() - start < budget) {
+                nodes.push(build(binding, items[end++]));
+            }
+            append(container, nodes);
+            if (typeof Telemetry !== 'undefined') Telemetry.record(slot, start);
+            index = end;
+        }
+
+        container.removeAttribute('aria-busy');
+        announce(container, 'catalog:done', { count: items.length });
+        return container;
+    }
+
+    // =============================================
+    // 4. CONTÊINERES DECLARADOS NA PÁGINA
+    // =============================================
+    function mount(root = document) {
+        const containers = Array.from(root.querySelectorAll('[data-catalog]:not([data-catalog-mounted])'));
+
+        return Promise.all(containers.map(container => {
+            container.setAttribute('data-catalog-mounted', '');
+            const group = container.getAttribute('data-group');
+            const initial = container.getAttribute('data-initial');
+
+            return load(container.getAttribute('data-catalog'))
+                .then(items => render(container, group ? items.filter(item => item.group === group) : items, {
+                    template: container.getAttribute('data-template'),
+                    initial: initial === null ? undefined : Number(initial)
+                }))
+                .catch(error => {
+                    container.removeAttribute('aria-busy');
+                    console.warn('Catalog:', error.message);
+                });
+        }));
+    }
+
+    if (document.readyState === 'loading') {
+        document.addEventListener('DOMContentLoaded', () => mount());
+    } else {
+        mount();
+    }
+
+    return {
+        load,
+        render,
+        mount,
+        dataFor
+    };
+})();
@@ -0,0 +1,76 @@
+// Elliot Project - Delegação de eventos
+// =============================================
+// Um único listener no document por tipo de evento, não importa quantos
+// elementos a página tenha. As rotas casam por seletor ou por data-action:
+//
+//   EventRouter.on('click', '.play-btn', (event, button) => { ... });
+//   EventRouter.action('toggle-menu', (event, button) => { ... });
+//       <button data-action="toggle-menu">
+//
+// 'enter' e 'leave' emulam mouseenter/mouseleave (que não borbulham) a
+// partir de mouseover/mouseout.
+// =============================================
+const EventRouter = (function() {
+    const routes = {};
+    const actions = {};
+
+    const EMULATED = {
+        enter: 'mouseover',
+        leave: 'mouseout'
+    };
+
+    // Eventos que nunca chamam preventDefault podem ser passivos
+    const PASSIVE = new Set(['touchstart', 'touchmove', 'wheel', 'pointerover', 'pointermove', 'mouseover', 'mouseout']);
+
+    function dispatch(domType, event) {
+        const target = event.target;
+        if (!(target instanceof Element)) return;
+
+        (routes[domType] || []).forEach(route => {
+            const element = target.closest(route.selector);
+            if (!element) return;
+
+            // enter/leave: ignorar movimentos entre filhos do mesmo elemento
+            if (route.emulated && element.contains(event.relatedTarget)) return;
+
+            route.handler.call(element, event, element);
+        });
+    }
+
+    function listen(domType) {
+        if (routes[domType]) return;
+        routes[domType] = [];
+        document.addEventListener(domType, event => dispatch(domType, event), {
+            passive: PASSIVE.has(domType)
+        });
+    }
+
+    function on(type, selector, handler) {
+        const domType = EMULATED[type] || type;
+        listen(domType);
+
+        const route = { selector, handler, emulated: Boolean(EMULATED[type]) };
+        routes[domType].push(route);
+
+        return () => {
+            const index = routes[domType].indexOf(route);
+            if (index !== -1) routes[domType].splice(index, 1);
+        };
+    }
+
+    // Ações de clique declaradas no HTML (data-action="nome")
+    function action(name, handler) {
+        if (!routes.click || !routes.click.some(route => route.selector === '[data-action]')) {
+            on('click', '[data-action]', (event, element) => {
+                const actionHandler = actions[element.getAttribute('data-action')];
+                if (actionHandler) actionHandler.call(element, event, element);
+            });
+        }
+        actions[name] = handler;
+    }
+
+    return {
+        on,
+        action
+    };
+})();
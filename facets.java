@@ -0,0 +1,172 @@
+// Elliot Project - Filtro por facetas com bitsets
+// =============================================
+// Os atributos dos itens são lidos uma única vez e viram um bitset por
+// valor (1 bit por item, 32 itens por palavra). Uma consulta é só E/OU
+// entre palavras de 32 bits, e ao aplicar o resultado só os itens cujo
+// bit mudou (XOR com o estado anterior) têm a classe trocada.
+//
+// createFacetIndex(items, {
+//     genre: { values: item => ['acao', 'drama'] },   // categórica
+//     year: { number: item => 1963 }                 // numérica (faixas)
+// })
+// index.query({ genre: ['acao', 'drama'], year: { min: 1980, max: 1989 } })
+//   facetas diferentes = E; valores da mesma faceta = OU
+//   ({ all: [...] } exige todos os valores)
+// =============================================
+function normalizeFacetValue(value) {
+    return String(value)
+        .normalize('NFD')
+        .replace(/[\u0300-\u036f]/g, '')
+        .trim()
+        .toLowerCase();
+}
+
+function createBitset(words) {
+    return new Uint32Array(words);
+}
+
+function setBit(bitset, index) {
+    bitset[index >>> 5] |= 1 << (index & 31);
+}
+
+function createFacetIndex(items, facetDefinitions) {
+    const count = items.length;
+    const words = Math.ceil(count / 32);
+    const categorical = {};
+    const numeric = {};
+
+    // Todos os itens; os bits além de count ficam zerados
+    const full = createBitset(words);
+    for (let i = 0; i < count; i++) setBit(full, i);
+
+    Object.keys(facetDefinitions).forEach(name => {
+        const definition = facetDefinitions[name];
+
+        if (definition.number) {
+            const values = new Float64Array(count);
+            for (let i = 0; i < count; i++) {
+                const value = parseFloat(definition.number(items[i]));
+                values[i] = isNaN(value) ? NaN : value;
+            }
+            // Ordem dos itens por valor: uma faixa vira um trecho contíguo
+            const order = Array.from({ length: count }, (_, i) => i)
+                .filter(i => !isNaN(values[i]))
+                .sort((a, b) => values[a] - values[b]);
+            numeric[name] = { values, order: Uint32Array.from(order) };
+            return;
+        }
+
+        const bitsets = new Map();
+        for (let i = 0; i < count; i++) {
+            (definition.values(items[i]) || []).forEach(raw => {
+                const value = normalizeFacetValue(raw);
+                if (!value) return;
+                if (!bitsets.has(value)) bitsets.set(value, createBitset(words));
+                setBit(bitsets.get(value), i);
+            });
+        }
+        categorical[name] = bitsets;
+    });
+
+    // Primeira posição de order com valor >= limit (> limit se after)
+    function bound(facet, limit, after) {
+        let low = 0;
+        let high = facet.order.length;
+        while (low < high) {
+            const mid = (low + high) >> 1;
+            const value = facet.values[facet.order[mid]];
+            if (value < limit || (after && value === limit)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    function rangeBitset(facet, range) {
+        const bitset = createBitset(words);
+        const start = range.min === undefined ? 0 : bound(facet, range.min, false);
+        const end = range.max === undefined ? facet.order.length : bound(facet, range.max, true);
+        for (let i = start; i < end; i++) setBit(bitset, facet.order[i]);
+        return bitset;
+    }
+
+    function valuesBitset(bitsets, selection) {
+        const matchAll = !Array.isArray(selection) && selection.all;
+        const values = (matchAll ? selection.all : [].concat(selection)).map(normalizeFacetValue);
+        const bitset = matchAll ? full.slice() : createBitset(words);
+
+        values.forEach(value => {
+            const valueBits = bitsets.get(value);
+            for (let w = 0; w < words; w++) {
+                const bits = valueBits ? valueBits[w] : 0;
+                bitset[w] = matchAll ? bitset[w] & bits : bitset[w] | bits;
+            }
+        });
+        return bitset;
+    }
+
+    // Seleção vazia ou 'all' = faceta ignorada
+    function query(selection = {}) {
+        const result = full.slice();
+
+        Object.keys(selection).forEach(name => {
+            const value = selection[name];
+            if (value === undefined || value === null || value === 'all' ||
+                (Array.isArray(value) && !value.length)) return;
+
+            let bitset;
+            if (numeric[name]) {
+                bitset = rangeBitset(numeric[name], value);
+            } else if (categorical[name]) {
+                bitset = valuesBitset(categorical[name], value);
+            } else {
+                return;
+            }
+
+            for (let w = 0; w < words; w++) result[w] &= bitset[w];
+        });
+
+        return result;
+    }
+
+    function values(name) {
+        return categorical[name] ? [...categorical[name].keys()].sort() : [];
+    }
+
+    return { count, words, full, query, values };
+}
+
+// Aplica bitsets sucessivos aos itens tocando só os que mudaram
+function createBitsetView(items, hiddenClass) {
+    const words = Math.ceil(items.length / 32);
+    let current = createBitset(words);
+    // Estado inicial vem das classes: uma view remontada (novos itens)
+    // continua de onde a anterior parou
+    for (let i = 0; i < items.length; i++) {
+        if (!items[i].classList.contains(hiddenClass)) setBit(current, i);
+    }
+
+    return function apply(next) {
+        for (let w = 0; w < words; w++) {
+            let changed = current[w] ^ next[w];
+            while (changed) {
+                const bit = 31 - Math.clz32(changed);
+                const index = (w << 5) + bit;
+                items[index].classList.toggle(hiddenClass, !(next[w] & (1 << bit)));
+                changed &= ~(1 << bit);
+            }
+        }
+        current = next;
+    };
+}
+
+// "8+" -> { min: 8 }; "1980-1989" -> { min: 1980, max: 1989 }; "1963" -> exato
+function parseFacetRange(value) {
+    const text = String(value).trim();
+    if (/\+$/.test(text)) return { min: parseFloat(text) };
+
+    const bounds = /^(-?[\d.]+)\s*-\s*(-?[\d.]+)$/.exec(text);
+    if (bounds) return { min: parseFloat(bounds[1]), max: parseFloat(bounds[2]) };
+
+    const exact = parseFloat(text);
+    return { min: exact, max: exact };
+}
@@ -0,0 +1,145 @@
+// Elliot Project - Inicialização por prioridade
+// =============================================
+// Cada funcionalidade da página é registrada com uma prioridade:
+//
+//   Features.register('toc', initTocHighlight, { priority: 'visible' });
+//   Features.register('video-modal', setupVideoModal, {
+//       priority: 'interaction', selector: '.youtube-card'
+//   });
+//
+//   - critical:    roda já, no registro (o que muda a primeira pintura);
+//   - visible:     uma tarefa separada para cada uma, em segundo plano
+//                  (scheduler.postTask 'background', ou
+//                  requestIdleCallback, ou setTimeout), cedendo a vez à
+//                  entrada do usuário entre elas;
+//   - interaction: só quando o usuário chega perto dos elementos (ponteiro
+//                  por cima, toque ou foco dentro de `selector`). Esses
+//                  eventos vêm antes do clique/tecla, então a rota já
+//                  existe quando a ação acontece.
+// Custo: cada init vira um performance.measure('feature:<nome>') (visível
+// no DevTools) e, com telemetry.java, a métrica 'init:<nome>'.
+// Features.report() lista nome, prioridade, estado e custo.
+// =============================================
+const Features = (function() {
+    const PRIORITIES = ['critical', 'visible', 'interaction'];
+    const INTENT_EVENTS = ['pointerover', 'pointerdown', 'touchstart', 'focusin'];
+    const IDLE_TIMEOUT = 2000;
+
+    const features = new Map();
+    const waiting = [];
+    let listening = false;
+
+    // =============================================
+    // 1. EXECUÇÃO MEDIDA
+    // =============================================
+    function run(feature) {
+        if (feature.state !== 'pending') return;
+        feature.state = 'running';
+
+        const start = performance.now();
+        try {
+            feature.init();
+            feature.state = 'ready';
+        } catch (error) {
+            // Uma funcionalidade quebrada não impede as outras
+            feature.state = 'failed';
+            console.error(`Falha ao iniciar "${feature.name}":`, error);
+        }
+        feature.cost = performance.now() - start;
+
+        try {
+            performance.measure(`feature:${feature.name}`, { start, duration: feature.cost });
+        } catch (e) {
+            // User Timing L3 indisponível
+        }
+        if (typeof Telemetry !== 'undefined') Telemetry.measure(`init:${feature.name}`, start);
+    }
+
+    // =============================================
+    // 2. SEGUNDO PLANO
+    // =============================================
+    function schedule(feature) {
+        const task = () => run(feature);
+        if (window.scheduler && typeof scheduler.postTask === 'function') {
+            scheduler.postTask(task, { priority: 'background' });
+        } else if ('requestIdleCallback' in window) {
+            requestIdleCallback(task, { timeout: IDLE_TIMEOUT });
+        } else {
+            setTimeout(task, 1);
+        }
+    }
+
+    // =============================================
+    // 3. NA INTERAÇÃO
+    // =============================================
+    // Captura: roda antes dos listeners da página para o mesmo evento
+    function onIntent(event) {
+        const target = event.target;
+        if (!(target instanceof Element)) return;
+
+        for (let i = waiting.length - 1; i >= 0; i--) {
+            const feature = waiting[i];
+            if (!feature.selector || target.closest(feature.selector)) {
+                waiting.splice(i, 1);
+                run(feature);
+            }
+        }
+        if (!waiting.length) listen(false);
+    }
+
+    function listen(enabled) {
+        if (enabled === listening) return;
+        listening = enabled;
+        INTENT_EVENTS.forEach(type => {
+            if (enabled) document.addEventListener(type, onIntent, { capture: true, passive: true });
+            else document.removeEventListener(type, onIntent, { capture: true, passive: true });
+        });
+    }
+
+    // =============================================
+    // 4. REGISTRO
+    // =============================================
+    // register(nome, init, { priority, selector })
+    function register(name, init, options = {}) {
+        const priority = options.priority || 'critical';
+        if (!PRIORITIES.includes(priority)) throw new Error(`Prioridade desconhecida: ${priority}`);
+        if (features.has(name)) return features.get(name);
+
+        const feature = { name, init, priority, selector: options.selector || null, state: 'pending', cost: 0 };
+        features.set(name, feature);
+
+        if (priority === 'critical') {
+            run(feature);
+        } else if (priority === 'visible') {
+            schedule(feature);
+        } else {
+            waiting.push(feature);
+            listen(true);
+        }
+        return feature;
+    }
+
+    // Força a inicialização (ex.: outra funcionalidade precisa dela agora)
+    function ensure(name) {
+        const feature = features.get(name);
+        if (!feature) return false;
+
+        const index = waiting.indexOf(feature);
+        if (index !== -1) waiting.splice(index, 1);
+        if (!waiting.length) listen(false);
+        run(feature);
+        return feature.state === 'ready';
+    }
+
+    function report() {
+        return Array.from(features.values()).map(({ name, priority, state, cost }) => ({
+            name, priority, state, cost: Math.round(cost * 100) / 100
+        }));
+    }
+
+    return {
+        register,
+        ensure,
+        report
+    };
+})();
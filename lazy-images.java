@@ -0,0 +1,96 @@
+// Elliot Project - Carregador único de imagens
+// =============================================
+// Substitui os dois carregadores antigos (o eager de script.java, que
+// media cada img[data-src] com getBoundingClientRect, e o observer de
+// yasuke-script.java). Inicia sozinho na página que o incluir.
+//   - img[data-src] / [data-srcset]: com suporte a loading="lazy" o
+//     navegador decide quando baixar; sem ele, um IntersectionObserver
+//     com margem de ~2 telas (a mesma do carregador antigo).
+//   - img[data-priority]: imagem do LCP, baixada já com fetchpriority=high.
+//   - img.img-placeholder (tools/images.java): o fundo borrado é removido
+//     quando a imagem carrega, por um único listener de captura.
+// =============================================
+const LazyImages = (function() {
+    const NATIVE_LAZY = 'loading' in HTMLImageElement.prototype;
+    const ROOT_MARGIN = '200% 0px';
+
+    let observer = null;
+
+    function swap(img) {
+        // <source data-srcset> de um <picture>
+        if (img.parentElement && img.parentElement.tagName === 'PICTURE') {
+            img.parentElement.querySelectorAll('source[data-srcset]').forEach(source => {
+                source.srcset = source.dataset.srcset;
+                source.removeAttribute('data-srcset');
+            });
+        }
+        if (img.dataset.sizes) img.sizes = img.dataset.sizes;
+        if (img.dataset.srcset) img.srcset = img.dataset.srcset;
+        if (img.dataset.src) img.src = img.dataset.src;
+
+        img.removeAttribute('data-sizes');
+        img.removeAttribute('data-srcset');
+        img.removeAttribute('data-src');
+        img.classList.remove('lazy');
+    }
+
+    function getObserver() {
+        if (!observer) {
+            observer = new IntersectionObserver(entries => {
+                entries.forEach(entry => {
+                    if (entry.isIntersecting) {
+                        observer.unobserve(entry.target);
+                        swap(entry.target);
+                    }
+                });
+            }, { rootMargin: ROOT_MARGIN });
+        }
+        return observer;
+    }
+
+    function load(images) {
+        images.forEach(img => {
+            if (img.hasAttribute('data-priority')) {
+                img.loading = 'eager';
+                img.fetchPriority = 'high';
+                swap(img);
+            } else if (NATIVE_LAZY) {
+                img.loading = 'lazy';
+                img.decoding = 'async';
+                swap(img);
+            } else if ('IntersectionObserver' in window) {
+                getObserver().observe(img);
+            } else {
+                swap(img);
+            }
+        });
+    }
+
+    function clearPlaceholder(event) {
+        const img = event.target;
+        if (img.tagName !== 'IMG' || !img.classList.contains('img-placeholder')) return;
+        img.classList.remove('img-placeholder');
+        img.style.backgroundImage = '';
+    }
+
+    function init() {
+        // load não borbulha: captura no document cobre todas as imagens
+        document.addEventListener('load', clearPlaceholder, true);
+        load(document.querySelectorAll('img[data-src], img[data-srcset]'));
+
+        // Imagens que terminaram de carregar antes deste script
+        document.querySelectorAll('img.img-placeholder').forEach(img => {
+            if (img.complete && img.naturalWidth) clearPlaceholder({ target: img });
+        });
+    }
+
+    if (document.readyState === 'loading') {
+        document.addEventListener('DOMContentLoaded', init);
+    } else {
+        init();
+    }
+
+    return {
+        load
+    };
+})();
@@ -0,0 +1,76 @@
+// Elliot Project - Ciclo de vida da página (back/forward cache)
+// Incluído por partials/navigation.html, antes dos demais scripts defer
+// =============================================
+// Voltar/avançar entre as páginas deve ser instantâneo: o navegador guarda
+// a página inteira no bfcache e a devolve como estava. Para isso:
+//   - nenhum script usa 'unload'/'beforeunload' (impedem o bfcache);
+//   - em 'pagehide', cada módulo para o que não deve continuar com a
+//     página congelada: mídia tocando, modais abertos (e o overflow do
+//     body), timers e animações em andamento;
+//   - em 'pageshow' com persisted (página voltou do bfcache), cada módulo
+//     recalcula o estado derivado do scroll: barra de progresso, item ativo
+//     do TOC, classe 'scrolled' da navbar.
+//
+//   PageLifecycle.onHide(persisted => player.destroy());
+//   PageLifecycle.onRestore(() => ScrollScheduler.invalidate(true));
+//
+// Com telemetry.java, cada restauração vira a métrica 'bfcache-restore'
+// (tempo do pageshow até o fim dos handlers).
+// =============================================
+const PageLifecycle = (function() {
+    const hideHandlers = [];
+    const restoreHandlers = [];
+    let restores = 0;
+
+    function add(list, handler) {
+        list.push(handler);
+        return function remove() {
+            const index = list.indexOf(handler);
+            if (index !== -1) list.splice(index, 1);
+        };
+    }
+
+    // Um handler quebrado não impede os outros (nem o bfcache)
+    function runAll(list, argument) {
+        list.slice().forEach(handler => {
+            try {
+                handler(argument);
+            } catch (error) {
+                console.error('PageLifecycle:', error);
+            }
+        });
+    }
+
+    // =============================================
+    // 1. SAÍDA (pagehide)
+    // =============================================
+    // persisted: true se a página pode ir para o bfcache
+    function onHide(handler) {
+        return add(hideHandlers, handler);
+    }
+
+    // =============================================
+    // 2. VOLTA DO BFCACHE (pageshow persisted)
+    // =============================================
+    function onRestore(handler) {
+        return add(restoreHandlers, handler);
+    }
+
+    window.addEventListener('pagehide', event => runAll(hideHandlers, event.persisted));
+
+    window.addEventListener('pageshow', event => {
+        if (!event.persisted) return;
+        const start = performance.now();
+        restores++;
+        runAll(restoreHandlers, event);
+        if (typeof Telemetry !== 'undefined') Telemetry.measure('bfcache-restore', start);
+    });
+
+    return {
+        onHide,
+        onRestore,
+        get restores() {
+            return restores;
+        }
+    };
+})();
@@ -0,0 +1,173 @@
+// Elliot Project - Seções fora da tela sem renderização (content-visibility)
+// =============================================
+// Seções longas recebem content-visibility: auto, então o navegador não faz
+// layout nem pintura do que está fora da tela (no load e a cada resize).
+// O espaço reservado para uma seção pulada é o contain-intrinsic-size:
+//   - a altura real é medida (ResizeObserver) quando a seção aparece na
+//     tela e guardada no localStorage, por página e faixa de largura;
+//   - na próxima visita a seção já nasce com a altura certa, então a barra
+//     de rolagem e a barra de progresso não pulam.
+// Páginas: <main data-render-skip> aplica às <section> filhas (o CSS da
+// página aplica antes do primeiro layout; este script só ajusta as alturas).
+// Âncoras: scrollIntoView(target) corrige a posição quando seções acima do
+// alvo mudam de altura ao serem renderizadas no caminho.
+// =============================================
+const OffscreenSections = (function() {
+    const STORAGE_PREFIX = 'render-skip:';
+    const WIDTH_STEP = 100;
+    const DEFAULT_HEIGHT = 900;
+    const SETTLE_TIMEOUT = 3000;
+
+    const lastHeights = new WeakMap();
+    const onScreen = new Set();
+    let storageKey = null;
+    let heights = {};
+    let dirty = false;
+    let resizeObserver = null;
+    let visibilityObserver = null;
+
+    function readHeights() {
+        try {
+            return JSON.parse(localStorage.getItem(storageKey)) || {};
+        } catch (e) {
+            return {};
+        }
+    }
+
+    function saveHeights() {
+        if (!dirty) return;
+        dirty = false;
+        try {
+            localStorage.setItem(storageKey, JSON.stringify(heights));
+        } catch (e) {
+            // Armazenamento cheio ou bloqueado: as alturas valem só nesta visita
+        }
+    }
+
+    function record(section) {
+        const height = lastHeights.get(section);
+        const key = section.dataset.renderSkipKey;
+        if (!height || heights[key] === height) return;
+
+        heights[key] = height;
+        section.style.containIntrinsicSize = `auto ${height}px`;
+        dirty = true;
+    }
+
+    function observe(section) {
+        if (!resizeObserver) {
+            resizeObserver = new ResizeObserver(entries => {
+                entries.forEach(entry => {
+                    const box = entry.borderBoxSize && entry.borderBoxSize[0];
+                    const height = Math.round(box ? box.blockSize : entry.contentRect.height);
+                    lastHeights.set(entry.target, height);
+                    // Só a altura de uma seção renderizada (na tela) é real
+                    if (onScreen.has(entry.target)) record(entry.target);
+                });
+            });
+
+            visibilityObserver = new IntersectionObserver(entries => {
+                entries.forEach(entry => {
+                    if (entry.isIntersecting) {
+                        onScreen.add(entry.target);
+                        record(entry.target);
+                    } else {
+                        onScreen.delete(entry.target);
+                    }
+                });
+            });
+        }
+
+        resizeObserver.observe(section);
+        visibilityObserver.observe(section);
+    }
+
+    function init(sections) {
+        if (!('ResizeObserver' in window) || !('IntersectionObserver' in window)) return;
+        if (!CSS.supports('content-visibility', 'auto')) return;
+
+        if (!storageKey) {
+            storageKey = `${STORAGE_PREFIX}${location.pathname}:${Math.round(window.innerWidth / WIDTH_STEP)}`;
+            heights = readHeights();
+
+            document.addEventListener('visibilitychange', () => {
+                if (document.visibilityState === 'hidden') saveHeights();
+            });
+            window.addEventListener('pagehide', saveHeights);
+        }
+
+        Array.from(sections).forEach((section, index) => {
+            const key = section.id || String(index);
+            section.dataset.renderSkipKey = key;
+            section.style.contentVisibility = 'auto';
+            section.style.containIntrinsicSize = `auto ${heights[key] || DEFAULT_HEIGHT}px`;
+            observe(section);
+        });
+
+        // Carregamento com #âncora: o navegador rolou antes das alturas reais
+        if (location.hash) {
+            const target = document.getElementById(decodeURIComponent(location.hash.slice(1)));
+            if (target) settle(target, true);
+        }
+    }
+
+    // Depois que a rolagem termina, confere se o alvo ficou no lugar; se
+    // seções acima dele mudaram de altura no caminho, rola de novo (sem animação).
+    // Qualquer interação do usuário cancela a correção.
+    function settle(target, immediate) {
+        const useScrollEnd = 'onscrollend' in window;
+        const userEvents = ['wheel', 'touchstart', 'keydown', 'pointerdown'];
+        const expiry = setTimeout(stop, SETTLE_TIMEOUT);
+        let corrections = 2;
+
+        function stop() {
+            clearTimeout(expiry);
+            window.removeEventListener('scrollend', check);
+            userEvents.forEach(type => window.removeEventListener(type, stop, true));
+        }
+
+        function check() {
+            const padding = parseFloat(getComputedStyle(document.documentElement).scrollPaddingTop) || 0;
+            const offset = target.getBoundingClientRect().top - padding;
+
+            if (Math.abs(offset) <= 1 || corrections-- <= 0) {
+                stop();
+                return;
+            }
+            target.scrollIntoView({ behavior: 'instant' });
+            if (!useScrollEnd) setTimeout(check, 100);
+        }
+
+        userEvents.forEach(type => window.addEventListener(type, stop, { capture: true, passive: true }));
+        if (useScrollEnd) window.addEventListener('scrollend', check);
+
+        if (immediate) {
+            requestAnimationFrame(check);
+        } else if (!useScrollEnd) {
+            setTimeout(check, SETTLE_TIMEOUT / 3);
+        }
+    }
+
+    function scrollIntoView(target) {
+        target.scrollIntoView();
+        if (storageKey) settle(target);
+    }
+
+    function autoInit() {
+        const containers = document.querySelectorAll('[data-render-skip]');
+        containers.forEach(container => {
+            init(container.querySelectorAll(':scope > section'));
+        });
+    }
+
+    if (document.readyState === 'loading') {
+        document.addEventListener('DOMContentLoaded', autoInit);
+    } else {
+        autoInit();
+    }
+
+    return {
+        init,
+        scrollIntoView
+    };
+})();
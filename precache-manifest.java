@@ -0,0 +1,146 @@
+// Gerado por tools/precache-manifest.java - não editar
+self.__PRECACHE_MANIFEST = {
+    "version": "7eecdfdcd2",
+    "entries": [
+        {
+            "url": "index.html",
+            "revision": "883e4c832b"
+        },
+        {
+            "url": "games.html",
+            "revision": "1b2f62f0d5"
+        },
+        {
+            "url": "nexus.html",
+            "revision": "6358bdbed7"
+        },
+        {
+            "url": "tecnologia.html",
+            "revision": "655a7be8ea"
+        },
+        {
+            "url": "animes.html",
+            "revision": "d963540812"
+        },
+        {
+            "url": "criancas.html",
+            "revision": "4c3a940b2f"
+        },
+        {
+            "url": "icons.css?v=04fea3f420",
+            "revision": "04fea3f420"
+        },
+        {
+            "url": "style.css?v=309fbb9f42",
+            "revision": "309fbb9f42"
+        },
+        {
+            "url": "yasuke-style.css?v=af38f20ed7",
+            "revision": "af38f20ed7"
+        },
+        {
+            "url": "search-index.json",
+            "revision": "fbef0dfc13"
+        },
+        {
+            "url": "data/animes.json",
+            "revision": "418792f9a1"
+        },
+        {
+            "url": "data/games.json",
+            "revision": "052ade3337"
+        },
+        {
+            "url": "data/videos.json",
+            "revision": "43e0a39e48"
+        },
+        {
+            "url": "catalog.java?v=2f18ca982c",
+            "revision": "2f18ca982c"
+        },
+        {
+            "url": "events.java?v=ea070718a1",
+            "revision": "ea070718a1"
+        },
+        {
+            "url": "facets.java?v=334e6c64a0",
+            "revision": "334e6c64a0"
+        },
+        {
+            "url": "features.java?v=a41279f3fd",
+            "revision": "a41279f3fd"
+        },
+        {
+            "url": "lazy-images.java?v=1c33565ab4",
+            "revision": "1c33565ab4"
+        },
+        {
+            "url": "lifecycle.java?v=19f003af54",
+            "revision": "19f003af54"
+        },
+        {
+            "url": "offscreen-sections.java?v=884d0c891b",
+            "revision": "884d0c891b"
+        },
+        {
+            "url": "prefetch.java?v=201b723591",
+            "revision": "201b723591"
+        },
+        {
+            "url": "quality.java?v=4a14632636",
+            "revision": "4a14632636"
+        },
+        {
+            "url": "reveal.java?v=ac42b0653b",
+            "revision": "ac42b0653b"
+        },
+        {
+            "url": "script.java?v=e53e1a921e",
+            "revision": "e53e1a921e"
+        },
+        {
+            "url": "scroll-scheduler.java?v=919cdaa788",
+            "revision": "919cdaa788"
+        },
+        {
+            "url": "scrollspy.java?v=91511a6450",
+            "revision": "91511a6450"
+        },
+        {
+            "url": "search-core.java?v=5f1cd23986",
+            "revision": "5f1cd23986"
+        },
+        {
+            "url": "search-worker.java?v=72266fa3db",
+            "revision": "72266fa3db"
+        },
+        {
+            "url": "search.java?v=caa16a7793",
+            "revision": "caa16a7793"
+        },
+        {
+            "url": "section-index.java?v=e34dfbd385",
+            "revision": "e34dfbd385"
+        },
+        {
+            "url": "site-plugins.java?v=b26cb1476c",
+            "revision": "b26cb1476c"
+        },
+        {
+            "url": "site-script.java?v=8ad4e6ef01",
+            "revision": "8ad4e6ef01"
+        },
+        {
+            "url": "telemetry.java?v=9fb46e9021",
+            "revision": "9fb46e9021"
+        },
+        {
+            "url": "tooltip.java?v=f6253b589c",
+            "revision": "f6253b589c"
+        },
+        {
+            "url": "yasuke-script.java?v=efa3bf5b16",
+            "revision": "efa3bf5b16"
+        }
+    ]
+};
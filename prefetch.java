@@ -0,0 +1,205 @@
+// Elliot Project - Navegação instantânea entre páginas
+// Incluído por partials/navigation.html (junto com a View Transition
+// entre documentos, que mantém a navbar parada na troca de página)
+// =============================================
+// Intenção de navegar (mouse parado sobre o link, toque ou foco) em um link
+// para outra página do site:
+//   - com Speculation Rules: a página é pré-renderizada (conexão rápida)
+//     ou pré-carregada (3g); o clique só ativa o documento pronto;
+//   - sem elas: <link rel="prefetch"> (HTML no cache HTTP).
+// Links do menu (#navLinks) visíveis também são pré-carregados (só o HTML)
+// quando o navegador fica ocioso, em conexões rápidas.
+// Limites: no máximo MAX_PRERENDER páginas pré-renderizadas (a mais antiga
+// é descartada) e MAX_INFLIGHT prefetches simultâneos.
+// Nada disso acontece com Save-Data, em 2g ou no nível de qualidade baixo
+// (quality.java); no médio, só prefetch. Um hover pendente é descartado
+// quando a página sai (lifecycle.java), para não especular ao voltar do
+// bfcache.
+// =============================================
+const Prefetch = (function() {
+    const HOVER_DELAY = 80; // ms parado sobre o link antes de especular
+    const MAX_PRERENDER = 2;
+    const MAX_INFLIGHT = 2;
+    const SLOW_CONNECTIONS = ['slow-2g', '2g'];
+    const LINK_SELECTOR = 'a[href]';
+    const MENU_SELECTOR = '#navLinks a[href]';
+
+    const connection = navigator.connection || {};
+    const speculationRules = HTMLScriptElement.supports && HTMLScriptElement.supports('speculationrules');
+
+    const requested = new Set();
+    const prerendered = [];
+    const prefetched = [];
+    const queue = [];
+    let inflight = 0;
+    let rulesScript = null;
+    let hoverTimer = null;
+
+    function networkMode() {
+        if (connection.saveData || SLOW_CONNECTIONS.includes(connection.effectiveType)) return 'off';
+        if (connection.effectiveType === '3g') return 'prefetch';
+        return 'prerender';
+    }
+
+    // O nível de qualidade (quality.java) limita ainda mais: aparelho fraco
+    // só pré-carrega, ou nem isso. Consultado a cada intenção, então um
+    // rebaixamento em uso vale para os próximos links
+    function mode() {
+        const network = networkMode();
+        if (network === 'off' || typeof Quality === 'undefined') return network;
+
+        const budget = Quality.get('prefetch');
+        if (budget === 'off') return 'off';
+        return budget === 'prefetch' ? 'prefetch' : network;
+    }
+
+    // "/" e "/index.html" (e "/pasta/" e "/pasta/index.html") são a mesma página
+    function samePage(pathname) {
+        return pathname.replace(/\/index\.html$/, '/');
+    }
+
+    // Só páginas do próprio site, diferentes da atual
+    function targetUrl(link) {
+        if (!link || link.hasAttribute('download') || link.hasAttribute('data-no-prefetch')) return null;
+        if (link.target && link.target !== '_self') return null;
+
+        const url = new URL(link.href, location.href);
+        if (url.origin !== location.origin) return null;
+        if (!/(\.html|\/)$/.test(url.pathname)) return null;
+        if (samePage(url.pathname) === samePage(location.pathname) && url.search === location.search) return null;
+
+        url.hash = '';
+        return url.href;
+    }
+
+    // =============================================
+    // 1. SPECULATION RULES
+    // =============================================
+    function writeRules() {
+        const rules = {};
+        if (prerendered.length) rules.prerender = [{ source: 'list', urls: prerendered.slice() }];
+        if (prefetched.length) rules.prefetch = [{ source: 'list', urls: prefetched.slice() }];
+
+        // Trocar o <script> inteiro é o jeito de atualizar a lista; URLs que
+        // saíram da lista têm a pré-renderização cancelada
+        const script = document.createElement('script');
+        script.type = 'speculationrules';
+        script.textContent = JSON.stringify(rules);
+        if (rulesScript) rulesScript.replaceWith(script);
+        else document.head.appendChild(script);
+        rulesScript = script;
+    }
+
+    function speculate(url, kind) {
+        if (kind === 'prerender') {
+            if (prerendered.includes(url)) return;
+            prerendered.push(url);
+            if (prerendered.length > MAX_PRERENDER) prerendered.shift();
+        } else {
+            if (prefetched.includes(url) || prerendered.includes(url)) return;
+            prefetched.push(url);
+        }
+        writeRules();
+    }
+
+    // =============================================
+    // 2. FALLBACK: <link rel="prefetch"> COM FILA
+    // =============================================
+    function pump() {
+        while (inflight < MAX_INFLIGHT && queue.length) {
+            const url = queue.shift();
+            const link = document.createElement('link');
+            link.rel = 'prefetch';
+            link.href = url;
+            link.onload = link.onerror = () => {
+                inflight--;
+                pump();
+            };
+            inflight++;
+            document.head.appendChild(link);
+        }
+    }
+
+    function linkPrefetch(url, urgent) {
+        if (requested.has(url)) return;
+        requested.add(url);
+        // Intenção do usuário passa na frente dos prefetches ociosos
+        if (urgent) queue.unshift(url);
+        else queue.push(url);
+        pump();
+    }
+
+    // =============================================
+    // 3. INTENÇÃO
+    // =============================================
+    function onIntent(link, urgent) {
+        const current = mode();
+        const url = targetUrl(link);
+        if (current === 'off' || !url) return;
+
+        if (!speculationRules) {
+            linkPrefetch(url, urgent);
+        } else if (urgent) {
+            speculate(url, current);
+        } else {
+            speculate(url, 'prefetch');
+        }
+    }
+
+    function linkFrom(event) {
+        return event.target.closest ? event.target.closest(LINK_SELECTOR) : null;
+    }
+
+    function bindIntent() {
+        document.addEventListener('pointerover', (event) => {
+            if (event.pointerType === 'touch') return;
+            const link = linkFrom(event);
+            clearTimeout(hoverTimer);
+            if (link) hoverTimer = setTimeout(() => onIntent(link, true), HOVER_DELAY);
+        }, { passive: true });
+
+        document.addEventListener('pointerout', (event) => {
+            const link = linkFrom(event);
+            if (link && !link.contains(event.relatedTarget)) clearTimeout(hoverTimer);
+        }, { passive: true });
+
+        // Toque e foco pelo teclado: intenção imediata
+        document.addEventListener('touchstart', (event) => onIntent(linkFrom(event), true), { passive: true });
+        document.addEventListener('focusin', (event) => onIntent(linkFrom(event), true));
+    }
+
+    // Links do menu na tela: só HTML, quando ocioso e em conexão rápida
+    function prefetchVisibleMenu() {
+        if (mode() !== 'prerender' || !('IntersectionObserver' in window)) return;
+
+        const idle = window.requestIdleCallback || (callback => setTimeout(callback, 1));
+        const observer = new IntersectionObserver(entries => {
+            entries.forEach(entry => {
+                if (!entry.isIntersecting) return;
+                observer.unobserve(entry.target);
+                idle(() => onIntent(entry.target, false));
+            });
+        });
+        document.querySelectorAll(MENU_SELECTOR).forEach(link => observer.observe(link));
+    }
+
+    function init() {
+        if (mode() === 'off') return;
+        bindIntent();
+        prefetchVisibleMenu();
+        if (typeof PageLifecycle !== 'undefined') PageLifecycle.onHide(() => clearTimeout(hoverTimer));
+    }
+
+    // Páginas pré-renderizadas só começam a especular quando ativadas
+    if (document.prerendering) {
+        document.addEventListener('prerenderingchange', init, { once: true });
+    } else if (document.readyState === 'loading') {
+        document.addEventListener('DOMContentLoaded', init);
+    } else {
+        init();
+    }
+
+    return {
+        prefetch: link => onIntent(link, true)
+    };
+})();
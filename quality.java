@@ -0,0 +1,210 @@
+// Elliot Project - Níveis de qualidade pelas capacidades do aparelho
+// Incluído por partials/quality.html (com o bootstrap inline, que aplica o
+// nível antes da primeira pintura):
+//   <html data-quality="high|medium|low" data-motion="full|reduced">
+// =============================================
+// O nível inicial é o menor entre memória (navigator.deviceMemory),
+// núcleos (hardwareConcurrency) e rede (effectiveType; Save-Data e 2g
+// valem "low"). Depois:
+//   - sonda: com a página carregada, visível (e já ativada, se foi
+//     pré-renderizada) e ociosa, PROBE_FRAMES quadros de
+//     requestAnimationFrame. A mediana dá o ritmo da tela (16,7 ms a 60 Hz,
+//     33 ms em modo de economia a 30 Hz); p75 acima de SLOW_RATIO vezes a
+//     mediana (quadros perdidos) desce um nível;
+//   - em uso: JANK_COUNT quadros longos (long animation frames, ou long
+//     tasks) em JANK_WINDOW ms também descem um nível.
+// O nível medido fica no sessionStorage ('quality:tier'): as próximas
+// páginas da visita já começam nele. localStorage 'quality' fixa um nível
+// (para testes) e desliga sonda e rebaixamento.
+// O que cada nível permite está em BUDGETS; prefers-reduced-motion desliga
+// as animações em qualquer nível. CSS usa os atributos; JS usa
+// Quality.allows('spotlight'), Quality.get('thumbnails') e onChange.
+// =============================================
+const Quality = (function() {
+    const TIERS = ['low', 'medium', 'high'];
+    const BUDGETS = {
+        high: { animations: true, typewriter: true, spotlight: true, thumbnails: 'hqdefault', prefetch: 'prerender' },
+        medium: { animations: true, typewriter: true, spotlight: false, thumbnails: 'mqdefault', prefetch: 'prefetch' },
+        low: { animations: false, typewriter: false, spotlight: false, thumbnails: 'default', prefetch: 'off' }
+    };
+    const MOTION = ['animations', 'typewriter'];
+
+    const PROBE_FRAMES = 30;
+    const SLOW_RATIO = 1.5;   // p75 / mediana da sonda
+    const JANK_FRAME = 100;   // ms
+    const JANK_COUNT = 5;
+    const JANK_WINDOW = 5000; // ms
+    const SESSION_KEY = 'quality:tier';
+    const OVERRIDE_KEY = 'quality';
+
+    const root = document.documentElement;
+    const reducedMotion = window.matchMedia('(prefers-reduced-motion: reduce)');
+    const listeners = new Set();
+    const pinned = read('localStorage', OVERRIDE_KEY);
+    let tier = pinned || (TIERS.includes(root.getAttribute('data-quality')) ? root.getAttribute('data-quality') : capabilityTier());
+    let jankTimes = [];
+
+    function read(area, key) {
+        try {
+            const value = window[area].getItem(key);
+            return TIERS.includes(value) ? value : null;
+        } catch (e) {
+            return null;
+        }
+    }
+
+    function remember(value) {
+        try {
+            sessionStorage.setItem(SESSION_KEY, value);
+        } catch (e) {
+            // Sem armazenamento: cada página mede de novo
+        }
+    }
+
+    // Mesma regra do bootstrap inline (partials/quality.html)
+    function capabilityTier() {
+        const memory = navigator.deviceMemory || 8;
+        const cores = navigator.hardwareConcurrency || 8;
+        const connection = navigator.connection || {};
+        const rank = Math.min(
+            memory <= 2 ? 0 : memory <= 4 ? 1 : 2,
+            cores <= 2 ? 0 : cores <= 4 ? 1 : 2,
+            connection.saveData || /2g/.test(connection.effectiveType || '') ? 0 :
+                connection.effectiveType === '3g' ? 1 : 2
+        );
+        return TIERS[rank];
+    }
+
+    // =============================================
+    // 1. CONSULTA
+    // =============================================
+    function get(name) {
+        if (MOTION.includes(name) && reducedMotion.matches) return false;
+        return BUDGETS[tier][name];
+    }
+
+    function allows(name) {
+        const value = get(name);
+        return Boolean(value) && value !== 'off';
+    }
+
+    function onChange(listener) {
+        listeners.add(listener);
+        return () => listeners.delete(listener);
+    }
+
+    // Atributos em <html>: um recálculo de estilo, nada mais
+    function apply() {
+        root.setAttribute('data-quality', tier);
+        root.setAttribute('data-motion', reducedMotion.matches ? 'reduced' : 'full');
+    }
+
+    function set(value, reason) {
+        if (!TIERS.includes(value) || value === tier) return;
+        tier = value;
+        remember(tier);
+        apply();
+        listeners.forEach(listener => listener(tier, reason));
+    }
+
+    function downgrade(reason) {
+        const index = TIERS.indexOf(tier);
+        if (index > 0) set(TIERS[index - 1], reason);
+    }
+
+    // =============================================
+    // 2. SONDA DE QUADROS
+    // =============================================
+    function probe() {
+        // Aba oculta: sem rAF, sem medida; recomeça quando ficar visível
+        if (document.hidden) {
+            document.addEventListener('visibilitychange', probe, { once: true });
+            return;
+        }
+
+        const deltas = [];
+        let last = 0;
+
+        function frame(now) {
+            if (document.hidden) {
+                probe();
+                return;
+            }
+            if (last) deltas.push(now - last);
+            last = now;
+
+            if (deltas.length < PROBE_FRAMES) {
+                requestAnimationFrame(frame);
+                return;
+            }
+            deltas.sort((a, b) => a - b);
+            const median = deltas[Math.floor(deltas.length * 0.5)];
+            if (deltas[Math.floor(deltas.length * 0.75)] > median * SLOW_RATIO) downgrade('probe');
+            else remember(tier);
+        }
+
+        requestAnimationFrame(frame);
+    }
+
+    // =============================================
+    // 3. QUADROS LONGOS EM USO
+    // =============================================
+    function onLongFrame(entry) {
+        if (document.hidden || entry.duration < JANK_FRAME) return;
+
+        const now = entry.startTime;
+        jankTimes = jankTimes.filter(time => now - time < JANK_WINDOW);
+        jankTimes.push(now);
+        if (jankTimes.length >= JANK_COUNT) {
+            jankTimes = [];
+            downgrade('jank');
+        }
+    }
+
+    function watchJank() {
+        if (!('PerformanceObserver' in window)) return;
+        const supported = PerformanceObserver.supportedEntryTypes || [];
+        const type = supported.includes('long-animation-frame') ? 'long-animation-frame' : 'longtask';
+        if (!supported.includes(type)) return;
+
+        // Sem buffered: o custo do carregamento não conta como travamento
+        new PerformanceObserver(list => list.getEntries().forEach(onLongFrame)).observe({ type });
+    }
+
+    function start() {
+        if (pinned) return;
+        const idle = window.requestIdleCallback || (callback => setTimeout(callback, 1));
+        idle(() => {
+            if (!read('sessionStorage', SESSION_KEY)) probe();
+            watchJank();
+        });
+    }
+
+    apply();
+    reducedMotion.addEventListener('change', () => {
+        apply();
+        listeners.forEach(listener => listener(tier, 'motion'));
+    });
+
+    // Página pré-renderizada: medir só depois de ativada
+    function whenLoaded() {
+        if (document.readyState === 'complete') start();
+        else window.addEventListener('load', start, { once: true });
+    }
+
+    if (document.prerendering) {
+        document.addEventListener('prerenderingchange', whenLoaded, { once: true });
+    } else {
+        whenLoaded();
+    }
+
+    return {
+        get tier() {
+            return tier;
+        },
+        get,
+        allows,
+        onChange,
+        downgrade
+    };
+})();
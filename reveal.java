@@ -0,0 +1,140 @@
+// Elliot Project - Motor de revelação ao scroll
+// Usado por site-script.java (.fade-in), yasuke-script.java e animes.html
+// =============================================
+// Cada elemento é observado uma única vez e deixa de ser observado assim
+// que é revelado; o observer sai (disconnect) quando não resta nenhum. As revelações que chegam no mesmo quadro são aplicadas
+// juntas, em uma única passada de classList.add dentro de um rAF.
+// Com prefers-reduced-motion: reduce, ou no nível de qualidade baixo
+// (data-quality="low", ver quality.java), tudo é revelado imediatamente.
+// Com revealAbove, o que já está acima da tela na primeira observação
+// (salto por #âncora, scroll restaurado) também é revelado, como fazia o
+// antigo teste "topo < altura da tela".
+// O custo de cada lote vai para a telemetria (telemetry.java), se presente.
+// =============================================
+const RevealEngine = (function() {
+    const reducedMotion = window.matchMedia('(prefers-reduced-motion: reduce)');
+    const root = document.documentElement;
+    const queue = [];
+    const observers = [];
+    let scheduled = false;
+    let flushMetric = null;
+
+    // Slot resolvido quando a telemetria existir: em animes.html este
+    // script roda antes do telemetry.java (defer)
+    function metricSlot() {
+        if (flushMetric === null) {
+            if (typeof Telemetry === 'undefined') return -1;
+            flushMetric = Telemetry.metric('reveal-batch');
+        }
+        return flushMetric;
+    }
+
+    function flush() {
+        const slot = metricSlot();
+        const start = slot >= 0 ? performance.now() : 0;
+        scheduled = false;
+        for (let i = 0; i < queue.length; i++) {
+            const item = queue[i];
+            item.element.classList.add(item.className);
+        }
+        queue.length = 0;
+        if (slot >= 0) Telemetry.record(slot, start);
+    }
+
+    function enqueue(element, className) {
+        queue.push({ element, className });
+        if (!scheduled) {
+            scheduled = true;
+            requestAnimationFrame(flush);
+        }
+    }
+
+    // Atraso progressivo pela posição entre os irmãos, calculado uma vez
+    // por pai (em vez de Array.from(parent.children).indexOf a cada revelação)
+    function applyStagger(elements, step, shouldStagger) {
+        const parents = new Set();
+        elements.forEach(element => {
+            if (shouldStagger(element) && element.parentElement) {
+                parents.add(element.parentElement);
+            }
+        });
+
+        parents.forEach(parent => {
+            const children = parent.children;
+            for (let i = 0; i < children.length; i++) {
+                if (shouldStagger(children[i])) {
+                    children[i].style.setProperty('--reveal-delay', `${i * step}s`);
+                }
+            }
+        });
+    }
+
+    // observe(elementos, { className, initialClass, rootMargin, threshold, stagger, staggerStep,
+    //                      revealAbove })
+    function observe(elements, options = {}) {
+        const items = Array.from(elements);
+        const className = options.className || 'visible';
+
+        if (options.initialClass) {
+            items.forEach(element => element.classList.add(options.initialClass));
+        }
+
+        if (options.stagger) {
+            applyStagger(items, options.staggerStep || 0.1, options.stagger);
+        }
+
+        // O atributo vem do bootstrap inline: vale mesmo antes do quality.java
+        const lowQuality = root.getAttribute('data-quality') === 'low';
+        if (reducedMotion.matches || lowQuality || !('IntersectionObserver' in window)) {
+            items.forEach(element => enqueue(element, className));
+            return;
+        }
+
+        if (!items.length) return;
+
+        // A primeira entrada de cada elemento chega logo após observe()
+        const seen = options.revealAbove ? new WeakSet() : null;
+        const record = { observer: null, pending: new Set(items), className };
+
+        const observer = new IntersectionObserver((entries) => {
+            entries.forEach(entry => {
+                const first = seen && !seen.has(entry.target);
+                if (first) seen.add(entry.target);
+
+                if (entry.isIntersecting || (first && entry.boundingClientRect.top < 0)) {
+                    observer.unobserve(entry.target);
+                    record.pending.delete(entry.target);
+                    enqueue(entry.target, className);
+                }
+            });
+
+            // Tudo revelado: nada mais a observar nem a guardar
+            if (!record.pending.size) {
+                observer.disconnect();
+                const index = observers.indexOf(record);
+                if (index !== -1) observers.splice(index, 1);
+            }
+        }, {
+            threshold: options.threshold || 0,
+            rootMargin: options.rootMargin || '0px'
+        });
+
+        items.forEach(element => observer.observe(element));
+        record.observer = observer;
+        observers.push(record);
+    }
+
+    // Se o usuário ativar movimento reduzido depois, revelar o que falta
+    reducedMotion.addEventListener('change', (e) => {
+        if (!e.matches) return;
+        observers.forEach(({ observer, pending, className }) => {
+            observer.disconnect();
+            pending.forEach(element => enqueue(element, className));
+        });
+        observers.length = 0;
+    });
+
+    return {
+        observe
+    };
+})();
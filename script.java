@@ -1,58 +1,69 @@
 // script.js - Elliot Project - Mobile Optimized
+// Depende de: events.java, scroll-scheduler.java, section-index.java, scrollspy.java,
+//             offscreen-sections.java, lazy-images.java, features.java,
+//             quality.java, lifecycle.java
 // =============================================
-// 1. DETECÇÃO DE MOBILE E TOUCH
+// 1. CAPACIDADES E TOUCH
 // =============================================
-const isMobile = /Android|webOS|iPhone|iPad|iPod|BlackBerry|IEMobile|Opera Mini/i.test(navigator.userAgent);
+// Nada de user agent: o que é pesado depende do nível de qualidade
+// (quality.java: memória, núcleos, rede, reduced-motion e quadros medidos)
+// e o que depende do tamanho da tela, de media query.
 const isTouchDevice = 'ontouchstart' in window || navigator.maxTouchPoints > 0;
+const compactLayout = window.matchMedia('(max-width: 768px)');
+
+function scrollBehavior() {
+    return Quality.allows('animations') ? 'smooth' : 'auto';
+}
 
 // =============================================
 // 2. BARRA DE PROGRESSO OTIMIZADA
 // =============================================
+// Com animation-timeline: scroll(), style.css anima barra e botão topo no
+// compositor e não há nada a fazer por quadro. Sem suporte, o fallback
+// escreve só transform: scaleX (sem layout) e a classe do botão, e apenas
+// quando o valor muda.
+const scrollDriven = window.CSS && CSS.supports('animation-timeline: scroll()');
 const progressBar = document.getElementById('progressBar');
+let progressRatio = -1;
 
-function updateProgressBar() {
-    const winHeight = window.innerHeight;
-    const docHeight = document.documentElement.scrollHeight - winHeight;
-    const scrolled = (window.scrollY / docHeight) * 100;
-    progressBar.style.width = Math.min(100, Math.max(0, scrolled)) + '%';
-}
-
-// Throttle para performance mobile
-function throttle(func, limit) {
-    let inThrottle;
-    return function() {
-        const args = arguments;
-        const context = this;
-        if (!inThrottle) {
-            func.apply(context, args);
-            inThrottle = true;
-            setTimeout(() => inThrottle = false, limit);
-        }
-    }
+// Escrita apenas: os valores de layout vêm do quadro do ScrollScheduler
+function updateProgressBar(frame) {
+    const docHeight = frame.docHeight - frame.viewportHeight;
+    const ratio = docHeight > 0 ? Math.min(1, Math.max(0, frame.scrollY / docHeight)) : 0;
+    const rounded = Math.round(ratio * 1000) / 1000;
+    if (rounded === progressRatio) return;
+    progressRatio = rounded;
+    progressBar.style.transform = `scaleX(${rounded})`;
 }
 
-window.addEventListener('scroll', throttle(updateProgressBar, 16));
-
 // =============================================
 // 3. BOTÃO VOLTAR AO TOPO MOBILE
 // =============================================
 const topBtn = document.getElementById('topBtn');
+let topButtonShown = false;
 
-function toggleTopButton() {
-    if (window.pageYOffset > 200) {
-        topBtn.classList.add('show');
-    } else {
-        topBtn.classList.remove('show');
-    }
+function toggleTopButton(frame) {
+    const show = frame.scrollY > 200;
+    if (show === topButtonShown) return;
+    topButtonShown = show;
+    topBtn.classList.toggle('show', show);
 }
 
-window.addEventListener('scroll', throttle(toggleTopButton, 100));
+// Fallback: barra e botão topo compartilham o mesmo tick de scroll
+if (!scrollDriven) {
+    ScrollScheduler.subscribe({
+        write(frame) {
+            updateProgressBar(frame);
+            toggleTopButton(frame);
+        }
+    });
+}
 
 topBtn.addEventListener('click', (e) => {
     e.preventDefault();
     window.scrollTo({
         top: 0,
-        behavior: 'smooth'
+        behavior: scrollBehavior()
     });
 });
 
@@ -70,33 +81,124 @@ if (isTouchDevice) {
 // =============================================
 // 4. SISTEMA DE TEMAS (LÂMPADA)
 // =============================================
-const themeBtn = document.getElementById('themeBtn');
-const currentTheme = localStorage.getItem('theme') || 'dark';
+// - a escolha do usuário fica no localStorage ('theme'); sem escolha,
+//   vale prefers-color-scheme (e acompanha mudanças do sistema);
+// - a troca é um único flip de atributo (data-theme + color-scheme) em
+//   <html>: um recálculo de estilo, sem layout (o tema só muda cores);
+// - com View Transitions, a troca vira um crossfade (as transições não
+//   aparecem por trás do snapshot); sem elas, as transições de cor ficam
+//   suspensas durante o flip (data-theme-switching, ver style.css);
+// - outra aba que troca o tema atualiza esta (evento storage).
+const Theme = (function() {
+    const STORAGE_KEY = 'theme';
+    const THEMES = ['dark', 'light'];
+    const THEME_COLORS = { light: '#f5f2e9', dark: '#07060a' };
 
-// Aplicar tema salvo ao carregar
-function applyTheme(theme) {
-    document.documentElement.setAttribute('data-theme', theme);
-    
-    // Atualizar meta theme-color para mobile
-    const themeColor = theme === 'light' ? '#f5f2e9' : '#07060a';
-    let metaThemeColor = document.querySelector('meta[name="theme-color"]');
-    
-    if (!metaThemeColor) {
-        metaThemeColor = document.createElement('meta');
-        metaThemeColor.name = 'theme-color';
-        document.head.appendChild(metaThemeColor);
+    const root = document.documentElement;
+    const systemLight = window.matchMedia('(prefers-color-scheme: light)');
+    const reducedMotion = window.matchMedia('(prefers-reduced-motion: reduce)');
+    const listeners = new Set();
+
+    function stored() {
+        try {
+            const theme = localStorage.getItem(STORAGE_KEY);
+            return THEMES.includes(theme) ? theme : null;
+        } catch (e) {
+            return null;
+        }
     }
-    metaThemeColor.setAttribute('content', themeColor);
-}
 
-// Aplicar tema inicial
-applyTheme(currentTheme);
+    function save(theme) {
+        try {
+            localStorage.setItem(STORAGE_KEY, theme);
+        } catch (e) {
+            // Armazenamento bloqueado: a escolha vale só nesta página
+        }
+    }
+
+    function preferred() {
+        return stored() || (systemLight.matches ? 'light' : 'dark');
+    }
+
+    function current() {
+        return root.getAttribute('data-theme') || preferred();
+    }
+
+    // meta theme-color: só atributo, não afeta estilo nem layout
+    function updateThemeColor(theme) {
+        let meta = document.querySelector('meta[name="theme-color"]');
+        if (!meta) {
+            meta = document.createElement('meta');
+            meta.name = 'theme-color';
+            document.head.appendChild(meta);
+        }
+        meta.setAttribute('content', THEME_COLORS[theme]);
+    }
+
+    function apply(theme) {
+        root.setAttribute('data-theme', theme);
+        root.style.colorScheme = theme;
+        updateThemeColor(theme);
+        listeners.forEach(listener => listener(theme));
+    }
+
+    // Sem View Transitions: o atributo de suspensão sai dois quadros depois;
+    // o recálculo do flip acontece com as transições desligadas, e removê-lo
+    // só toca os poucos elementos da regra em style.css
+    function flip(theme) {
+        root.setAttribute('data-theme-switching', '');
+        apply(theme);
+        requestAnimationFrame(() => {
+            requestAnimationFrame(() => root.removeAttribute('data-theme-switching'));
+        });
+    }
+
+    function set(theme, options = {}) {
+        if (!THEMES.includes(theme)) return;
+        if (options.persist !== false) save(theme);
+        if (theme === root.getAttribute('data-theme')) return;
+
+        if (document.startViewTransition && !reducedMotion.matches && document.visibilityState === 'visible') {
+            document.startViewTransition(() => apply(theme));
+        } else {
+            flip(theme);
+        }
+    }
+
+    function toggle() {
+        set(current() === 'light' ? 'dark' : 'light');
+        return current();
+    }
+
+    function onChange(listener) {
+        listeners.add(listener);
+        return () => listeners.delete(listener);
+    }
+
+    // Tema inicial: escolha salva ou o do sistema
+    apply(preferred());
+
+    systemLight.addEventListener('change', () => {
+        if (!stored()) set(preferred(), { persist: false });
+    });
+
+    window.addEventListener('storage', (event) => {
+        if (event.key === STORAGE_KEY) set(preferred(), { persist: false });
+    });
+
+    return {
+        current,
+        set,
+        toggle,
+        onChange
+    };
+})();
+
+const themeBtn = document.getElementById('themeBtn');
 
-// Alternar tema ao clicar
 themeBtn.addEventListener('click', () => {
-    const newTheme = document.documentElement.getAttribute('data-theme') === 'light' ? 'dark' : 'light';
-    applyTheme(newTheme);
-    
+    Theme.toggle();
+
     // Feedback visual
     themeBtn.style.transform = 'scale(1.2)';
     setTimeout(() => {
@@ -104,43 +206,41 @@ themeBtn.addEventListener('click', () => {
     }, 200);
 });
 
-// Suporte a preferência do sistema
-const prefersDark = window.matchMedia('(prefers-color-scheme: dark)');
-prefersDark.addEventListener('change', (e) => {
-    if (!localStorage.getItem('theme')) {
-        applyTheme(e.matches ? 'dark' : 'light');
-    }
-});
-
 // =============================================
 // 5. SCROLL SUAVE MOBILE
 // =============================================
+// A altura do header vai para --header-height (usada pelo scroll-padding-top
+// em style.css) só quando ele muda de tamanho, não a cada clique.
+function trackHeaderHeight() {
+    const header = document.querySelector('header');
+    if (!header || !('ResizeObserver' in window)) return;
+
+    new ResizeObserver(entries => {
+        const height = entries[0].borderBoxSize ?
+            entries[0].borderBoxSize[0].blockSize :
+            entries[0].target.offsetHeight;
+        document.documentElement.style.setProperty('--header-height', height + 'px');
+    }).observe(header);
+}
+
 function initSmoothScroll() {
-    document.querySelectorAll('a[href^="#"]').forEach(anchor => {
-        anchor.addEventListener('click', function (e) {
-            const href = this.getAttribute('href');
-            if (href === '#') return;
+    EventRouter.on('click', 'a[href^="#"]', function (e) {
+        const href = this.getAttribute('href');
+        if (href === '#') return;
+        
+        e.preventDefault();
+        const target = document.querySelector(href);
+        if (target) {
+            OffscreenSections.scrollIntoView(target);
             
-            e.preventDefault();
-            const target = document.querySelector(href);
-            if (target) {
-                const headerHeight = document.querySelector('header').offsetHeight;
-                const targetPosition = target.offsetTop - headerHeight - 10;
-                
-                window.scrollTo({
-                    top: targetPosition,
-                    behavior: 'smooth'
-                });
-                
-                // Feedback tátil
-                if (isTouchDevice) {
-                    this.style.backgroundColor = 'rgba(230, 192, 123, 0.2)';
-                    setTimeout(() => {
-                        this.style.backgroundColor = '';
-                    }, 300);
-                }
+            // Feedback tátil
+            if (isTouchDevice) {
+                this.style.backgroundColor = 'rgba(230, 192, 123, 0.2)';
+                setTimeout(() => {
+                    this.style.backgroundColor = '';
+                }, 300);
             }
-        });
+        }
     });
 }
 
@@ -150,74 +250,178 @@ function initSmoothScroll() {
 const sections = document.querySelectorAll('article[id], section[id]');
 const navLinks = document.querySelectorAll('.toc a');
 
+// Motor do scrollspy: 'observer' (IntersectionObserver, sem trabalho no scroll)
+// ou 'index' (busca binária no índice de seções, via ScrollScheduler).
+// Pode ser forçado com <html data-scrollspy="index">.
+const tocSpyMode = document.documentElement.dataset.scrollspy ||
+    ('IntersectionObserver' in window ? 'observer' : 'index');
+
+let sectionIndex = null;
+const tocLinksById = new Map();
+navLinks.forEach(link => {
+    tocLinksById.set(link.getAttribute('href').substring(1), link);
+});
+
+let currentSectionId = '';
+let activeSectionId = null;
+
+// Fase de leitura: busca binária no índice, sem tocar no layout
+function readCurrentSection(frame) {
+    const scrollPosition = frame.scrollY + (frame.viewportHeight * 0.3);
+    currentSectionId = sectionIndex.lookup(scrollPosition);
+}
+
+// Fase de escrita: só o link anterior e o novo são alterados
 function highlightCurrentSection() {
-    let current = '';
-    const scrollPosition = window.scrollY + (window.innerHeight * 0.3);
-    
-    sections.forEach(section => {
-        const sectionTop = section.offsetTop;
-        const sectionHeight = section.clientHeight;
-        if (scrollPosition >= sectionTop && scrollPosition < sectionTop + sectionHeight) {
-            current = section.getAttribute('id');
+    setActiveTocLink(currentSectionId);
+}
+
+function setActiveTocLink(current) {
+    if (current === activeSectionId) return;
+
+    const previousLink = tocLinksById.get(activeSectionId);
+    if (previousLink) previousLink.classList.remove('active');
+    activeSectionId = current;
+
+    const link = tocLinksById.get(current);
+    if (link) {
+        link.classList.add('active');
+        
+        // TOC em faixa horizontal (tela estreita): manter o link visível
+        if (compactLayout.matches && link.parentElement) {
+            link.parentElement.scrollIntoView({
+                behavior: scrollBehavior(),
+                block: 'nearest'
+            });
         }
-    });
+    }
+}
 
-    navLinks.forEach(link => {
-        link.classList.remove('active');
-        const href = link.getAttribute('href').substring(1);
-        if (href === current) {
-            link.classList.add('active');
-            
-            // Scroll suave do TOC no mobile
-            if (isMobile && link.parentElement) {
-                link.parentElement.scrollIntoView({
-                    behavior: 'smooth',
-                    block: 'nearest'
-                });
+function initTocHighlight() {
+    if (!navLinks.length) return;
+
+    if (tocSpyMode === 'observer') {
+        createScrollspy(sections, {
+            offset: 0.3,
+            mode: 'contain',
+            onChange(index) {
+                setActiveTocLink(index === -1 ? '' : sections[index].getAttribute('id'));
             }
-        }
+        });
+        return;
+    }
+
+    // Índice das seções, reconstruído só por ResizeObserver
+    sectionIndex = createSectionIndex(sections, () => ScrollScheduler.invalidate());
+    ScrollScheduler.subscribe({
+        read: readCurrentSection,
+        write: highlightCurrentSection
     });
 }
 
 // =============================================
 // 7. ANIMAÇÃO DE DIGITAÇÃO (Opcional)
 // =============================================
-function typeWriter(element, text, speed = 50) {
-    let i = 0;
-    element.innerHTML = '';
-    
-    function type() {
-        if (i < text.length) {
-            element.innerHTML += text.charAt(i);
-            i++;
-            setTimeout(type, speed);
+// Revela os nós de texto existentes (a marcação interna é preservada),
+// avançando por tempo em um único loop de requestAnimationFrame.
+// A altura final é reservada antes de começar (sem CLS), o loop pausa com a
+// aba oculta e pode ser cancelado: cancel() mostra o texto completo.
+function typeWriter(element, speed = 50) {
+    // Única leitura de layout, antes de qualquer escrita
+    const finalHeight = element.getBoundingClientRect().height;
+
+    const nodes = [];
+    const walker = document.createTreeWalker(element, NodeFilter.SHOW_TEXT);
+    while (walker.nextNode()) nodes.push(walker.currentNode);
+
+    const fullText = nodes.map(node => node.data);
+    const total = fullText.reduce((sum, text) => sum + text.length, 0);
+
+    let nodeIndex = 0;
+    let nodeOffset = 0;
+    let shown = 0;
+    let startTime = 0;
+    let pausedAt = 0;
+    let frame = 0;
+    let done = false;
+
+    element.style.minHeight = finalHeight + 'px';
+    element.setAttribute('aria-label', element.textContent);
+    nodes.forEach(node => {
+        node.data = '';
+    });
+
+    // Acrescenta os próximos caracteres, tocando só nos nós que mudam
+    function advanceTo(target) {
+        while (shown < target) {
+            const text = fullText[nodeIndex];
+            const take = Math.min(text.length - nodeOffset, target - shown);
+            nodes[nodeIndex].appendData(text.substr(nodeOffset, take));
+            nodeOffset += take;
+            shown += take;
+            if (nodeOffset === text.length) {
+                nodeIndex++;
+                nodeOffset = 0;
+            }
         }
     }
-    type();
+
+    function finish() {
+        if (done) return;
+        done = true;
+        cancelAnimationFrame(frame);
+        document.removeEventListener('visibilitychange', onVisibilityChange);
+        advanceTo(total);
+        element.style.minHeight = '';
+        element.removeAttribute('aria-label');
+    }
+
+    function step(now) {
+        if (!startTime) startTime = now;
+        advanceTo(Math.min(total, Math.floor((now - startTime) / speed)));
+
+        if (shown < total) {
+            frame = requestAnimationFrame(step);
+        } else {
+            finish();
+        }
+    }
+
+    // Aba oculta: parar o loop e descontar o tempo pausado ao voltar
+    function onVisibilityChange() {
+        if (document.hidden) {
+            cancelAnimationFrame(frame);
+            pausedAt = performance.now();
+        } else if (!done) {
+            if (startTime && pausedAt) startTime += performance.now() - pausedAt;
+            pausedAt = 0;
+            frame = requestAnimationFrame(step);
+        }
+    }
+
+    document.addEventListener('visibilitychange', onVisibilityChange);
+    if (!document.hidden) frame = requestAnimationFrame(step);
+
+    return {
+        cancel: finish,
+        get done() {
+            return done;
+        }
+    };
 }
 
+let heroTypewriter = null;
+let heroTypewriterDelay = 0;
+
 // =============================================
 // 8. OTIMIZAÇÕES DE PERFORMANCE MOBILE
 // =============================================
+// Resize é tratado pelo ScrollScheduler (mesmo tick do scroll) e as imagens
+// pelo lazy-images.java (loading="lazy" nativo, observer como fallback)
 function initPerformanceOptimizations() {
-    // Prevenir múltiplos resizes
-    let resizeTimeout;
-    window.addEventListener('resize', () => {
-        clearTimeout(resizeTimeout);
-        resizeTimeout = setTimeout(() => {
-            updateProgressBar();
-            toggleTopButton();
-        }, 250);
-    });
-    
-    // Load crítico primeiro
-    const criticalImages = document.querySelectorAll('img[data-src]');
-    criticalImages.forEach(img => {
-        if (img.getBoundingClientRect().top < window.innerHeight * 2) {
-            img.src = img.dataset.src;
-            img.classList.remove('lazy');
-        }
-    });
+    // Artigos fora da tela não são renderizados; o TOC e as âncoras
+    // continuam corretos (ver offscreen-sections.java)
+    OffscreenSections.init(document.querySelectorAll('main > article, main > section'));
 }
 
 // =============================================
@@ -239,7 +443,9 @@ function initTouchGestures() {
         const endY = e.changedTouches[0].clientY;
         const diff = startY - endY;
         
-        if (diff < -50 && window.pageYOffset > 100) {
+        // Com scroll-driven animations o botão já segue a rolagem (style.css)
+        if (!scrollDriven && diff < -50 && window.pageYOffset > 100) {
+            topButtonShown = true;
             topBtn.classList.add('show');
         }
         
@@ -257,59 +463,63 @@ function updateYear() {
 // =============================================
 // 11. INICIALIZAÇÃO GERAL
 // =============================================
+// Por prioridade (features.java): só o que muda a primeira pintura roda já;
+// o resto vai para segundo plano ou espera o usuário chegar perto.
 document.addEventListener('DOMContentLoaded', () => {
-    // Atualizar ano
-    updateYear();
-    
-    // Inicializar componentes
-    initSmoothScroll();
-    initPerformanceOptimizations();
-    initTouchGestures();
-    
-    // Inicializar highlight do TOC
-    highlightCurrentSection();
-    window.addEventListener('scroll', throttle(highlightCurrentSection, 50));
-    
-    // Ajustes específicos para mobile
-    if (isMobile) {
-        // Remover animações pesadas em dispositivos lentos
-        const reducedMotion = window.matchMedia('(prefers-reduced-motion: reduce)').matches;
-        if (reducedMotion) {
-            document.querySelectorAll('article').forEach(article => {
-                article.style.animation = 'none';
-                article.style.opacity = '1';
-                article.style.transform = 'none';
-            });
-        }
-        
-        // Otimizar vídeos
-        const videos = document.querySelectorAll('iframe');
-        videos.forEach(video => {
+    const initStart = performance.now();
+
+    // Artigos fora da tela deixam de ser renderizados antes da pintura
+    Features.register('offscreen-sections', initPerformanceOptimizations, { priority: 'critical' });
+
+    // Visíveis, mas não críticos
+    Features.register('header-height', trackHeaderHeight, { priority: 'visible' });
+    Features.register('toc-highlight', initTocHighlight, { priority: 'visible' });
+    Features.register('footer-year', updateYear, { priority: 'visible' });
+    Features.register('touch-gestures', initTouchGestures, { priority: 'visible' });
+
+    // Vídeos incorporados só carregam perto da tela, em qualquer aparelho
+    Features.register('lazy-iframes', () => {
+        document.querySelectorAll('iframe').forEach(video => {
             video.setAttribute('loading', 'lazy');
         });
-    }
+    }, { priority: 'visible' });
     
-    // Animação de digitação opcional no hero (apenas desktop)
+    // Animação de digitação opcional no hero: só onde o nível de qualidade
+    // permite (e nunca com reduced-motion); um rebaixamento em uso encerra
+    // a animação mostrando o texto completo
     const heroTitle = document.getElementById('hero-title');
-    if (heroTitle && !isMobile) {
-        const originalText = heroTitle.textContent;
-        setTimeout(() => {
-            typeWriter(heroTitle, originalText, 70);
-        }, 1000);
+    if (heroTitle && Quality.allows('typewriter')) {
+        Features.register('hero-typewriter', () => {
+            heroTypewriterDelay = setTimeout(() => {
+                if (Quality.allows('typewriter')) heroTypewriter = typeWriter(heroTitle, 70);
+            }, 1000);
+            Quality.onChange(() => {
+                if (heroTypewriter && !Quality.allows('typewriter')) heroTypewriter.cancel();
+            });
+        }, { priority: 'visible' });
     }
+
+    // Saindo da página (talvez para o bfcache): sem timer pendente e com o
+    // título completo; na volta, o ScrollScheduler refaz progresso e TOC
+    PageLifecycle.onHide(() => {
+        clearTimeout(heroTypewriterDelay);
+        if (heroTypewriter) heroTypewriter.cancel();
+    });
+
+    // Só na interação: o clique em âncoras é precedido por ponteiro/foco
+    Features.register('smooth-scroll', initSmoothScroll, { priority: 'interaction', selector: 'a[href^="#"]' });
     
-    console.log('🚀 Elliot Project - Scripts carregados com sucesso!');
-    console.log('📱 Mobile:', isMobile, 'Touch:', isTouchDevice);
+    // Custo da parte síncrona (telemetry.java, se presente)
+    if (typeof Telemetry !== 'undefined') Telemetry.measure('page-init', initStart);
 });
 
 // =============================================
 // 12. OFFLINE SUPPORT (Opcional)
 // =============================================
-if ('serviceWorker' in navigator && isMobile) {
+if ('serviceWorker' in navigator) {
     window.addEventListener('load', () => {
-        navigator.serviceWorker.register('/sw.js')
-            .then(registration => console.log('SW registered: ', registration))
-            .catch(registrationError => console.log('SW registration failed: ', registrationError));
+        navigator.serviceWorker.register('sw.java')
+            .catch(error => console.warn('Service worker:', error.message));
     });
 
 }
@@ -0,0 +1,105 @@
+// Elliot Project - Agendador central de scroll/resize
+// Carregar antes de script.java e dos demais scripts que dependem de scroll
+// =============================================
+// Um único listener passivo de scroll e um de resize agendam no máximo
+// um requestAnimationFrame por quadro. Em cada tick, todas as leituras de
+// layout acontecem primeiro (fase read) e só depois as escritas (fase write),
+// evitando reflows forçados intercalados entre funcionalidades.
+// O custo de cada tick vai para a telemetria (telemetry.java), se presente.
+// Na volta do bfcache (lifecycle.java), um tick completo (como um resize)
+// recalcula tudo o que deriva do scroll: progresso, TOC, navbar.
+// =============================================
+const ScrollScheduler = (function() {
+    const subscribers = [];
+    let ticking = false;
+    let pendingResize = true;
+    let tickMetric = null;
+
+    // Valores compartilhados, lidos uma vez por quadro
+    const frame = {
+        scrollY: 0,
+        viewportHeight: 0,
+        viewportWidth: 0,
+        docHeight: 0,
+        resized: false
+    };
+
+    function readFrame() {
+        const doc = document.documentElement;
+        frame.scrollY = window.scrollY;
+        frame.viewportHeight = window.innerHeight;
+        frame.viewportWidth = window.innerWidth;
+        frame.docHeight = doc.scrollHeight;
+        frame.resized = pendingResize;
+        pendingResize = false;
+    }
+
+    // Slot resolvido uma vez; -1 sem telemetria (ainda) ou fora da amostra
+    function metricSlot() {
+        if (tickMetric === null) {
+            if (typeof Telemetry === 'undefined') return -1;
+            tickMetric = Telemetry.metric('scroll-tick');
+        }
+        return tickMetric;
+    }
+
+    function tick() {
+        const slot = metricSlot();
+        const start = slot >= 0 ? performance.now() : 0;
+        ticking = false;
+        readFrame();
+
+        // Fase 1: leituras
+        for (let i = 0; i < subscribers.length; i++) {
+            const sub = subscribers[i];
+            if (sub.read) sub.read(frame);
+        }
+
+        // Fase 2: escritas
+        for (let i = 0; i < subscribers.length; i++) {
+            const sub = subscribers[i];
+            if (sub.write) sub.write(frame);
+        }
+
+        if (slot >= 0) Telemetry.record(slot, start);
+    }
+
+    function requestTick() {
+        if (!ticking) {
+            ticking = true;
+            requestAnimationFrame(tick);
+        }
+    }
+
+    function onResize() {
+        pendingResize = true;
+        requestTick();
+    }
+
+    window.addEventListener('scroll', requestTick, { passive: true });
+    window.addEventListener('resize', onResize, { passive: true });
+    if (typeof PageLifecycle !== 'undefined') PageLifecycle.onRestore(onResize);
+
+    // Inscrever uma funcionalidade: { read(frame), write(frame) }
+    // Retorna uma função para cancelar a inscrição
+    function subscribe(task) {
+        subscribers.push(task);
+        requestTick();
+        return function unsubscribe() {
+            const index = subscribers.indexOf(task);
+            if (index !== -1) subscribers.splice(index, 1);
+        };
+    }
+
+    // Forçar um tick no próximo quadro (ex.: após mudança de conteúdo)
+    function invalidate(resized) {
+        if (resized) pendingResize = true;
+        requestTick();
+    }
+
+    return {
+        subscribe,
+        invalidate,
+        frame
+    };
+})();
@@ -0,0 +1,74 @@
+// Elliot Project - Scrollspy por IntersectionObserver
+// Usado pelo TOC de script.java e pela timeline de animes.html
+// =============================================
+// Nenhum listener de scroll e nenhuma leitura de layout durante o scroll.
+// Linha de referência: 30% da altura da tela, por padrão. Dois modos:
+//   - 'passed' (padrão, timeline de animes.html): a raiz é uma faixa que
+//     vai de muito acima da página até a linha; um alvo conta assim que
+//     seu topo passa a linha, e continua contando depois;
+//   - 'contain' (TOC de script.java): a raiz é a própria linha (altura
+//     zero); um alvo conta só enquanto a atravessa. Em vãos entre seções
+//     nada fica ativo, e ao sair de uma subseção volta a valer a seção
+//     que a contém (como o antigo teste topo <= linha < base).
+// Vale o último alvo que conta, na ordem do documento.
+// O callback só dispara nas transições, e onChange só é chamado quando
+// o índice ativo realmente muda.
+// =============================================
+const SCROLLSPY_REACH = 100000; // px acima da tela cobertos pela faixa
+
+function createScrollspy(targets, options = {}) {
+    const items = Array.from(targets);
+    const offset = options.offset !== undefined ? options.offset : 0.3;
+    const contain = options.mode === 'contain';
+    const onChange = options.onChange || function() {};
+
+    const passed = new Uint8Array(items.length);
+    const indexOf = new Map();
+    items.forEach((item, index) => indexOf.set(item, index));
+
+    let active = -1;
+
+    function lastPassed() {
+        for (let i = items.length - 1; i >= 0; i--) {
+            if (passed[i]) return i;
+        }
+        return -1;
+    }
+
+    const observer = new IntersectionObserver((entries) => {
+        entries.forEach(entry => {
+            passed[indexOf.get(entry.target)] = entry.isIntersecting ? 1 : 0;
+        });
+
+        const next = lastPassed();
+        if (next !== active) {
+            const previous = active;
+            active = next;
+            onChange(next, previous);
+        }
+    }, {
+        rootMargin: contain ?
+            `${-Math.round(offset * 100)}% 0px ${-Math.round((1 - offset) * 100)}% 0px` :
+            `${SCROLLSPY_REACH}px 0px ${-Math.round((1 - offset) * 100)}% 0px`,
+        threshold: 0
+    });
+
+    items.forEach(item => observer.observe(item));
+
+    return {
+        get active() {
+            return active;
+        },
+        disconnect() {
+            observer.disconnect();
+        }
+    };
+}
+
+// Alterna uma única classe entre os elementos conforme o índice ativo
+function toggleActiveClass(elements, className = 'active') {
+    return function(index, previous) {
+        if (previous !== -1 && elements[previous]) elements[previous].classList.remove(className);
+        if (index !== -1 && elements[index]) elements[index].classList.add(className);
+    };
+}
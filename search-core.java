@@ -0,0 +1,220 @@
+// Elliot Project - Núcleo da busca (índice e casamento)
+// Usado pelo search-worker.java (importScripts), pelo search.java quando não
+// há Worker e pelo tools/search-index.java no Node.
+// =============================================
+// O índice guarda os tokens normalizados (sem acento, minúsculos) em ordem,
+// então um prefixo vira uma busca binária. Buscas com 3+ letras também
+// casam no meio da palavra pelos trigramas dos tokens.
+// Cada posting é docId * 2 + 1 quando o token aparece no título.
+// =============================================
+const SearchCore = (function() {
+    const MIN_SUBSTRING = 3;
+
+    function normalize(text) {
+        return String(text || '')
+            .normalize('NFD')
+            .replace(/[\u0300-\u036f]/g, '')
+            .toLowerCase();
+    }
+
+    function tokenize(text) {
+        return normalize(text).split(/[^a-z0-9]+/).filter(Boolean);
+    }
+
+    // docs: [{ title, text }] -> { tokens, postings }
+    function buildIndex(docs) {
+        const byToken = new Map();
+
+        docs.forEach((doc, docId) => {
+            const seen = new Map();
+            tokenize(doc.title).forEach(token => seen.set(token, 1));
+            tokenize(doc.text).forEach(token => {
+                if (!seen.has(token)) seen.set(token, 0);
+            });
+            seen.forEach((inTitle, token) => {
+                if (!byToken.has(token)) byToken.set(token, []);
+                byToken.get(token).push(docId * 2 + inTitle);
+            });
+        });
+
+        const tokens = [...byToken.keys()].sort();
+        return {
+            docCount: docs.length,
+            tokens,
+            postings: tokens.map(token => byToken.get(token))
+        };
+    }
+
+    function trigrams(token) {
+        const grams = [];
+        for (let i = 0; i + MIN_SUBSTRING <= token.length; i++) {
+            grams.push(token.substr(i, MIN_SUBSTRING));
+        }
+        return grams;
+    }
+
+    function createMatcher(index) {
+        const tokens = index.tokens;
+        const postings = index.postings;
+        const docCount = index.docCount;
+        const gramTokens = new Map();
+
+        tokens.forEach((token, tokenId) => {
+            new Set(trigrams(token)).forEach(gram => {
+                if (!gramTokens.has(gram)) gramTokens.set(gram, []);
+                gramTokens.get(gram).push(tokenId);
+            });
+        });
+
+        // Primeiro token >= prefix (busca binária na lista ordenada)
+        function lowerBound(prefix) {
+            let low = 0;
+            let high = tokens.length;
+            while (low < high) {
+                const mid = (low + high) >> 1;
+                if (tokens[mid] < prefix) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        // Tokens que contêm o termo no meio (interseção dos trigramas)
+        function substringTokens(term) {
+            const lists = [...new Set(trigrams(term))]
+                .map(gram => gramTokens.get(gram) || [])
+                .sort((a, b) => a.length - b.length);
+            if (!lists.length || !lists[0].length) return [];
+
+            return lists[0].filter(tokenId =>
+                lists.every(list => list === lists[0] || list.includes(tokenId)) &&
+                tokens[tokenId].includes(term)
+            );
+        }
+
+        // Devolve { mask, ranked } ou null quando a consulta é vazia
+        function search(query) {
+            const terms = tokenize(query);
+            if (!terms.length) return null;
+
+            const hits = new Uint8Array(docCount);
+            const stamp = new Uint8Array(docCount);
+            const scores = new Float32Array(docCount);
+
+            terms.forEach((term, termIndex) => {
+                const matched = new Map();
+
+                for (let i = lowerBound(term); i < tokens.length && tokens[i].startsWith(term); i++) {
+                    matched.set(i, tokens[i] === term ? 3 : 2);
+                }
+                if (term.length >= MIN_SUBSTRING) {
+                    substringTokens(term).forEach(tokenId => {
+                        if (!matched.has(tokenId)) matched.set(tokenId, 1);
+                    });
+                }
+
+                matched.forEach((weight, tokenId) => {
+                    postings[tokenId].forEach(posting => {
+                        const docId = posting >> 1;
+                        if (stamp[docId] !== termIndex + 1) {
+                            stamp[docId] = termIndex + 1;
+                            hits[docId]++;
+                        }
+                        scores[docId] += weight * (posting & 1 ? 2 : 1);
+                    });
+                });
+            });
+
+            // Todos os termos precisam casar (E lógico)
+            const mask = new Uint8Array(docCount);
+            const ranked = [];
+            for (let docId = 0; docId < docCount; docId++) {
+                if (hits[docId] === terms.length) {
+                    mask[docId] = 1;
+                    ranked.push(docId);
+                }
+            }
+            ranked.sort((a, b) => scores[b] - scores[a]);
+
+            return { mask, ranked };
+        }
+
+        return { search };
+    }
+
+    // Lado "servidor" do protocolo de mensagens, igual no Worker e no fallback
+    //   { type: 'build', scope, docs }       indexa documentos vindos do DOM
+    //   { type: 'load', scope, url }         carrega um índice pré-gerado
+    //   { type: 'query', id, query, scopes, limit }
+    // Uma consulta a um escopo ainda sem índice fica guardada (só a última)
+    // e é respondida assim que o índice chega. Um índice que não carregou
+    // (rede, 404, JSON inválido) responde sempre vazio (mask: null)
+    const FAILED_SCOPE = { failed: true };
+
+    function createHost(post) {
+        const scopes = {};
+        const waiting = {};
+
+        function settle(scope, entry) {
+            scopes[scope] = entry;
+            if (waiting[scope]) {
+                const message = waiting[scope];
+                delete waiting[scope];
+                answer(scope, entry, message);
+            }
+            return entry;
+        }
+
+        function register(scope, index, docs) {
+            settle(scope, { matcher: createMatcher(index), docs: docs || index.docs || [] });
+        }
+
+        function answer(scope, entry, message) {
+            const result = entry.failed ? null : entry.matcher.search(message.query);
+            const reply = { type: 'results', id: message.id, scope, mask: null, matches: null };
+
+            if (result) {
+                reply.mask = result.mask;
+                // Só índices pré-gerados têm metadados (url, título, trecho)
+                if (entry.docs.length) {
+                    reply.matches = result.ranked
+                        .slice(0, message.limit || result.ranked.length)
+                        .map(docId => entry.docs[docId]);
+                }
+            }
+            post(reply, reply.mask ? [reply.mask.buffer] : []);
+        }
+
+        return function handle(message) {
+            if (message.type === 'build') {
+                register(message.scope, buildIndex(message.docs));
+            } else if (message.type === 'load') {
+                scopes[message.scope] = fetch(message.url)
+                    .then(response => {
+                        if (!response.ok) throw new Error(`${message.url}: HTTP ${response.status}`);
+                        return response.json();
+                    })
+                    .then(index => {
+                        register(message.scope, index);
+                        return scopes[message.scope];
+                    })
+                    .catch(() => settle(message.scope, FAILED_SCOPE));
+            } else if (message.type === 'query') {
+                message.scopes.forEach(scope => {
+                    if (!scopes[scope]) {
+                        waiting[scope] = message;
+                        return;
+                    }
+                    Promise.resolve(scopes[scope]).then(entry => {
+                        if (entry) answer(scope, entry, message);
+                    });
+                });
+            }
+        };
+    }
+
+    return { normalize, tokenize, buildIndex, createMatcher, createHost };
+})();
+
+if (typeof module !== 'undefined' && module.exports) {
+    module.exports = SearchCore;
+}
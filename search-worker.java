@@ -0,0 +1,9 @@
+// Elliot Project - Worker da busca
+// O casamento roda aqui, fora da thread principal (ver search-core.java)
+importScripts('search-core.java');
+
+const handleSearchMessage = SearchCore.createHost((message, transfer) => {
+    self.postMessage(message, transfer);
+});
+
+self.addEventListener('message', event => handleSearchMessage(event.data));
@@ -0,0 +1,158 @@
+// Elliot Project - Busca rápida
+// Depende de: search-core.java (só quando o navegador não tem Worker)
+// =============================================
+// createQuickSearch(input, options)
+//   items      itens da página que serão filtrados
+//   fields     item -> { title, text } (lido uma única vez, no idle)
+//   results    elemento opcional para os resultados das outras páginas
+//   siteIndex  índice pré-gerado por tools/search-index.java
+// O texto é indexado uma vez; a digitação só agenda uma consulta
+// (debounce) que roda no search-worker.java. A resposta é aplicada num
+// único frame, trocando a classe só dos itens que mudaram de estado.
+// Consultas feitas antes do índice ficar pronto são respondidas quando ele
+// fica. refresh(items) reindexa a lista (ex.: novas fatias do catálogo) e
+// reaplica a consulta atual.
+// =============================================
+const SEARCH_WORKER_URL = 'search-worker.java';
+const SEARCH_BUILD_TIMEOUT = 1000; // ms: o índice não espera o ocioso além disso
+
+function createSearchChannel(onMessage) {
+    if ('Worker' in window) {
+        try {
+            const worker = new Worker(SEARCH_WORKER_URL);
+            worker.addEventListener('message', event => onMessage(event.data));
+            return message => worker.postMessage(message);
+        } catch (e) {
+            // Sem permissão para criar o worker (file://, CSP): cai no fallback
+        }
+    }
+
+    if (typeof SearchCore === 'undefined') return null;
+    const handle = SearchCore.createHost(message => setTimeout(() => onMessage(message), 0));
+    return message => handle(message);
+}
+
+function createQuickSearch(input, options = {}) {
+    let items = Array.from(options.items || []);
+    const hiddenClass = options.hiddenClass || 'search-hidden';
+    const delay = options.delay || 120;
+    const limit = options.limit || 8;
+    const results = options.results || null;
+    const scopes = ['page'];
+
+    // 1 = visível; começa tudo visível
+    let visible = new Uint8Array(items.length).fill(1);
+    let lastQueryId = 0;
+    let debounceTimer = null;
+    let pendingMask;
+    let frameRequested = false;
+    let buildRequested = false;
+
+    const send = createSearchChannel(receive);
+    if (!send) return null;
+
+    // Indexa quando o navegador estiver ocioso (o textContent é lido só aqui),
+    // no máximo SEARCH_BUILD_TIMEOUT depois; vários pedidos viram um só
+    const idle = window.requestIdleCallback || (callback => setTimeout(callback, 200));
+    const fields = options.fields || (item => ({ title: '', text: item.textContent }));
+
+    function requestBuild() {
+        if (buildRequested) return;
+        buildRequested = true;
+        idle(() => {
+            buildRequested = false;
+            send({ type: 'build', scope: 'page', docs: items.map(fields) });
+            // A consulta atual passa a valer para os itens novos
+            if (input.value) search(input.value);
+        }, { timeout: SEARCH_BUILD_TIMEOUT });
+    }
+
+    requestBuild();
+
+    // Índice das outras páginas: só baixado quando a busca recebe foco
+    if (options.siteIndex && results) {
+        scopes.push('site');
+        input.addEventListener('focus', () => {
+            send({ type: 'load', scope: 'site', url: options.siteIndex });
+        }, { once: true });
+    }
+
+    input.addEventListener('input', () => {
+        clearTimeout(debounceTimer);
+        debounceTimer = setTimeout(() => search(input.value), delay);
+    });
+
+    function search(query) {
+        lastQueryId++;
+        send({ type: 'query', id: lastQueryId, query, scopes, limit });
+    }
+
+    // Nova lista de itens (os já existentes mantêm o estado atual)
+    function refresh(nextItems) {
+        items = Array.from(nextItems);
+        visible = new Uint8Array(items.length);
+        for (let i = 0; i < items.length; i++) {
+            visible[i] = items[i].classList.contains(hiddenClass) ? 0 : 1;
+        }
+        requestBuild();
+    }
+
+    function receive(message) {
+        // Respostas de consultas antigas chegam fora de ordem: descartar
+        if (message.type !== 'results' || message.id !== lastQueryId) return;
+
+        if (message.scope === 'site') {
+            renderSiteResults(message.matches);
+            return;
+        }
+
+        pendingMask = message.mask;
+        if (!frameRequested) {
+            frameRequested = true;
+            requestAnimationFrame(applyMask);
+        }
+    }
+
+    // Aplica o diff: só os itens que mudaram de estado são tocados.
+    // Itens além da máscara (ainda fora do índice) ficam visíveis
+    function applyMask() {
+        frameRequested = false;
+        const mask = pendingMask;
+
+        for (let i = 0; i < items.length; i++) {
+            const show = mask && i < mask.length ? mask[i] : 1;
+            if (show !== visible[i]) {
+                visible[i] = show;
+                items[i].classList.toggle(hiddenClass, !show);
+            }
+        }
+    }
+
+    function renderSiteResults(matches) {
+        if (!matches || !matches.length) {
+            results.replaceChildren();
+            results.hidden = true;
+            return;
+        }
+
+        const fragment = document.createDocumentFragment();
+        matches.forEach(match => {
+            const link = document.createElement('a');
+            link.className = 'search-result';
+            link.href = match.url;
+
+            const title = document.createElement('strong');
+            title.textContent = match.title;
+            const excerpt = document.createElement('span');
+            excerpt.textContent = match.excerpt;
+
+            link.append(title, excerpt);
+            fragment.appendChild(link);
+        });
+
+        results.replaceChildren(fragment);
+        results.hidden = false;
+    }
+
+    return { search, refresh };
+}
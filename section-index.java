@@ -0,0 +1,81 @@
+// Elliot Project - Índice de limites das seções (TOC)
+// Carregar antes de script.java
+// =============================================
+// As posições (topo/base) de cada seção são medidas uma única vez e
+// reconstruídas apenas quando um ResizeObserver reporta mudança de tamanho.
+// Durante o scroll, a seção atual é encontrada por busca binária: O(log n)
+// por quadro, sem nenhuma leitura de layout.
+// =============================================
+function createSectionIndex(elements, onRebuild) {
+    const items = Array.from(elements);
+    const count = items.length;
+    const ids = new Array(count);
+    const tops = new Float64Array(count);
+    const bottoms = new Float64Array(count);
+    // Ordem dos itens por topo crescente (seções aninhadas podem sair de ordem)
+    const order = new Uint32Array(count);
+    let built = false;
+
+    function rebuild() {
+        const scrollY = window.scrollY;
+
+        for (let i = 0; i < count; i++) {
+            const rect = items[i].getBoundingClientRect();
+            ids[i] = items[i].getAttribute('id');
+            tops[i] = rect.top + scrollY;
+            bottoms[i] = rect.bottom + scrollY;
+            order[i] = i;
+        }
+
+        order.sort((a, b) => tops[a] - tops[b] || a - b);
+        built = true;
+
+        if (onRebuild) onRebuild();
+    }
+
+    // Última posição na ordem cujo topo é <= y
+    function search(y) {
+        let low = 0;
+        let high = count - 1;
+        let found = -1;
+
+        while (low <= high) {
+            const mid = (low + high) >> 1;
+            if (tops[order[mid]] <= y) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    // Id da seção que contém y ('' se nenhuma)
+    function lookup(y) {
+        if (!built) return '';
+
+        // Voltar enquanto a seção candidata já terminou (caso de aninhamento)
+        for (let k = search(y); k >= 0; k--) {
+            if (y < bottoms[order[k]]) return ids[order[k]];
+        }
+        return '';
+    }
+
+    // Reconstruir somente quando o tamanho de alguma seção ou do documento mudar.
+    // O callback do ResizeObserver roda após o layout, então medir aqui
+    // não força reflow adicional.
+    if ('ResizeObserver' in window) {
+        const resizeObserver = new ResizeObserver(rebuild);
+        resizeObserver.observe(document.documentElement);
+        items.forEach(item => resizeObserver.observe(item));
+    } else {
+        rebuild();
+        window.addEventListener('load', rebuild);
+    }
+
+    return {
+        lookup,
+        rebuild
+    };
+}
@@ -0,0 +1,72 @@
+// Elliot Project - Plugins específicos de página
+// Carregado com defer, depois de site-script.java
+// =============================================
+// Cada plugin só é inicializado se o seletor existir na página atual.
+// Os handlers são delegados (events.java): um listener por tipo de evento
+// no document, em vez de um por elemento.
+// =============================================
+
+// Efeito ripple nos botões marcados com data-ripple (index)
+SiteFeatures.register('btn-ripple', '.btn[data-ripple]', () => {
+    EventRouter.on('click', '.btn[data-ripple]', function(e) {
+        const ripple = document.createElement('span');
+        const rect = this.getBoundingClientRect();
+        const size = Math.max(rect.width, rect.height);
+        const x = e.clientX - rect.left - size / 2;
+        const y = e.clientY - rect.top - size / 2;
+
+        ripple.style.width = ripple.style.height = size + 'px';
+        ripple.style.left = x + 'px';
+        ripple.style.top = y + 'px';
+        ripple.classList.add('ripple');
+
+        this.appendChild(ripple);
+
+        setTimeout(() => {
+            ripple.remove();
+        }, 600);
+    });
+});
+
+// Elevação dos cards ao passar o mouse (games, tecnologia, nexus)
+function liftOnHover(selector) {
+    return () => {
+        EventRouter.on('enter', selector, function() {
+            this.style.transform = 'translateY(-10px) scale(1.02)';
+        });
+
+        EventRouter.on('leave', selector, function() {
+            this.style.transform = 'translateY(0) scale(1)';
+        });
+    };
+}
+
+SiteFeatures.register('game-card-hover', '.game-card', liftOnHover('.game-card'));
+SiteFeatures.register('era-card-hover', '.era-card', liftOnHover('.era-card'));
+SiteFeatures.register('character-card-hover', '.character-card', liftOnHover('.character-card'));
+
+// Botões "Jogar" de jogos ainda em desenvolvimento (games)
+SiteFeatures.register('play-buttons', '.play-btn', () => {
+    EventRouter.on('click', '.play-btn', function(e) {
+        if (this.getAttribute('href') === '#') {
+            e.preventDefault();
+            this.style.backgroundColor = 'transparent';
+            this.style.color = 'var(--accent)';
+            setTimeout(() => {
+                this.style.backgroundColor = '';
+                this.style.color = '';
+                alert("🎮 Este jogo está em desenvolvimento! Em breve disponível para jogar!");
+            }, 300);
+        }
+    });
+});
+
+// Reiniciar a animação da timeline ao clicar (tecnologia)
+SiteFeatures.register('timeline-restart', '.timeline-visual', () => {
+    EventRouter.on('click', '.timeline-visual', function() {
+        this.style.animation = 'none';
+        setTimeout(() => {
+            this.style.animation = '';
+        }, 10);
+    });
+});
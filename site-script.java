@@ -0,0 +1,131 @@
+// Elliot Project - Script compartilhado das páginas (index, games, nexus, tecnologia)
+// Carregado com defer, depois de events.java, scroll-scheduler.java, reveal.java e
+// offscreen-sections.java, e antes de site-plugins.java
+// =============================================
+// 1. REGISTRO DE FUNCIONALIDADES (PLUGINS)
+// =============================================
+// Cada página ativa apenas os plugins cujos elementos existem nela.
+const SiteFeatures = (function() {
+    const features = [];
+
+    // register('nome', '.seletor', elementos => { ... })
+    function register(name, selector, init) {
+        features.push({ name, selector, init });
+    }
+
+    function start() {
+        features.forEach(feature => {
+            const elements = document.querySelectorAll(feature.selector);
+            if (elements.length) {
+                feature.init(elements);
+            }
+        });
+    }
+
+    return {
+        register,
+        start
+    };
+})();
+
+// =============================================
+// 2. NAVBAR E MENU MOBILE
+// =============================================
+const MOBILE_BREAKPOINT = 992;
+
+const navbar = document.getElementById('navbar');
+const mobileMenuBtn = document.getElementById('mobileMenuBtn');
+const navLinks = document.getElementById('navLinks');
+
+function setMobileMenu(open) {
+    if (!navLinks || !mobileMenuBtn) return;
+    navLinks.classList.toggle('active', open);
+    mobileMenuBtn.innerHTML = open ?
+        '<i class="fas fa-times"></i>' :
+        '<i class="fas fa-bars"></i>';
+}
+
+function initNavbar() {
+    // Listeners delegados (events.java): nenhum listener por link
+    EventRouter.action('toggle-menu', () => {
+        if (navLinks) setMobileMenu(!navLinks.classList.contains('active'));
+    });
+
+    // Fechar o menu mobile ao clicar em um link
+    EventRouter.on('click', '#navLinks a', () => {
+        if (window.innerWidth <= MOBILE_BREAKPOINT) {
+            setMobileMenu(false);
+        }
+    });
+
+    // Quem volta com o botão "voltar" encontra o menu fechado (bfcache)
+    if (typeof PageLifecycle !== 'undefined') PageLifecycle.onHide(() => setMobileMenu(false));
+
+    // Efeito de scroll da navbar e fechamento do menu ao voltar para desktop
+    ScrollScheduler.subscribe({
+        write(frame) {
+            if (navbar) navbar.classList.toggle('scrolled', frame.scrollY > 100);
+            if (frame.resized && frame.viewportWidth > MOBILE_BREAKPOINT) {
+                setMobileMenu(false);
+            }
+        }
+    });
+}
+
+// =============================================
+// 3. SCROLL SUAVE PARA ÂNCORAS
+// =============================================
+// O deslocamento da navbar vem do scroll-padding-top do html (CSS da página)
+// e a suavidade do scroll-behavior, que respeita prefers-reduced-motion.
+// OffscreenSections corrige o destino se seções puladas mudarem de altura.
+function initAnchorScroll() {
+    EventRouter.on('click', 'a[href^="#"]', function(e) {
+        e.preventDefault();
+
+        const targetId = this.getAttribute('href');
+        if (targetId === '#') return;
+
+        const targetElement = document.querySelector(targetId);
+        if (targetElement) {
+            OffscreenSections.scrollIntoView(targetElement);
+        }
+    });
+}
+
+// =============================================
+// 4. FADE-IN AO SCROLL
+// =============================================
+// Equivale ao antigo checkFadeIn (topo < altura da tela - 100px),
+// mas sem listener de scroll: ver reveal.java. revealAbove cobre o que
+// fica acima do ponto de chegada (âncora, scroll restaurado)
+function initFadeIn() {
+    RevealEngine.observe(document.querySelectorAll('.fade-in'), {
+        className: 'visible',
+        rootMargin: '0px 0px -100px 0px',
+        revealAbove: true
+    });
+}
+
+// =============================================
+// 5. OFFLINE (SERVICE WORKER)
+// =============================================
+function registerServiceWorker() {
+    if (!('serviceWorker' in navigator)) return;
+
+    window.addEventListener('load', () => {
+        navigator.serviceWorker.register('sw.java')
+            .catch(error => console.warn('Service worker:', error.message));
+    });
+}
+
+// =============================================
+// 6. INICIALIZAÇÃO
+// =============================================
+initNavbar();
+initAnchorScroll();
+initFadeIn();
+registerServiceWorker();
+
+// Plugins específicos de página (site-plugins.java) também são defer,
+// então já estão registrados quando o DOMContentLoaded dispara
+document.addEventListener('DOMContentLoaded', SiteFeatures.start);
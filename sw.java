@@ -0,0 +1,140 @@
+// Elliot Project - Service Worker (offline-first)
+// Registrado por script.java e site-script.java
+// =============================================
+// - Precache: páginas, style.css e scripts listados no manifesto gerado
+//   por tools/precache-manifest.java (URLs versionadas por hash).
+// - Navegação: resposta imediata do cache + revalidação em segundo plano.
+// - Google Fonts e Font Awesome (CDN): stale-while-revalidate em caches
+//   de runtime com limite de entradas e remoção LRU.
+// =============================================
+importScripts('precache-manifest.java');
+
+const MANIFEST = self.__PRECACHE_MANIFEST;
+const PRECACHE = `elliot-precache-${MANIFEST.version}`;
+
+const RUNTIME_CACHES = [
+    {
+        name: 'elliot-fonts',
+        maxEntries: 30,
+        match: url => url.origin === 'https://fonts.googleapis.com' ||
+            url.origin === 'https://fonts.gstatic.com'
+    },
+    {
+        name: 'elliot-cdn',
+        maxEntries: 20,
+        match: url => url.origin === 'https://cdnjs.cloudflare.com' &&
+            url.pathname.startsWith('/ajax/libs/font-awesome/')
+    }
+];
+
+const KNOWN_CACHES = new Set([PRECACHE].concat(RUNTIME_CACHES.map(cache => cache.name)));
+
+// =============================================
+// 1. INSTALAÇÃO: PRECACHE
+// =============================================
+self.addEventListener('install', (event) => {
+    event.waitUntil(
+        caches.open(PRECACHE)
+            .then(cache => cache.addAll(
+                MANIFEST.entries.map(entry => new Request(entry.url, { cache: 'reload' }))
+            ))
+            .then(() => self.skipWaiting())
+    );
+});
+
+// =============================================
+// 2. ATIVAÇÃO: REMOVER CACHES ANTIGOS
+// =============================================
+self.addEventListener('activate', (event) => {
+    event.waitUntil(
+        caches.keys()
+            .then(names => Promise.all(
+                names.filter(name => !KNOWN_CACHES.has(name)).map(name => caches.delete(name))
+            ))
+            .then(() => self.clients.claim())
+    );
+});
+
+// =============================================
+// 3. LRU: LIMITE DE ENTRADAS POR CACHE
+// =============================================
+// cache.put() remove a entrada antiga e insere a nova no fim, então
+// keys() fica em ordem do menos para o mais recentemente usado.
+function trimCache(name, maxEntries) {
+    return caches.open(name).then(cache => cache.keys().then(keys => {
+        const excess = keys.length - maxEntries;
+        if (excess <= 0) return;
+        return Promise.all(keys.slice(0, excess).map(key => cache.delete(key)));
+    }));
+}
+
+// =============================================
+// 4. ESTRATÉGIAS
+// =============================================
+function staleWhileRevalidate(event, cacheName, maxEntries) {
+    const request = event.request;
+
+    return caches.open(cacheName).then(cache => cache.match(request).then(cached => {
+        const network = fetch(request).then(response => {
+            // Respostas opacas (no-cors) têm status 0 e também são válidas
+            if (response.ok || response.type === 'opaque') {
+                const update = cache.put(request, response.clone());
+                event.waitUntil(maxEntries ? update.then(() => trimCache(cacheName, maxEntries)) : update);
+            }
+            return response;
+        });
+
+        if (cached) {
+            // Revalidar em segundo plano sem bloquear a resposta
+            event.waitUntil(network.catch(() => {}));
+            return cached;
+        }
+        return network;
+    }));
+}
+
+function pageCacheKey(url) {
+    const pathname = url.pathname.replace(/\/$/, '/index.html');
+    return pathname.slice(pathname.lastIndexOf('/') + 1);
+}
+
+self.addEventListener('fetch', (event) => {
+    const request = event.request;
+    if (request.method !== 'GET') return;
+
+    const url = new URL(request.url);
+
+    // Páginas: cache primeiro, revalidando o precache em segundo plano
+    if (request.mode === 'navigate' && url.origin === self.location.origin) {
+        const key = pageCacheKey(url);
+        event.respondWith(
+            caches.open(PRECACHE).then(cache => cache.match(key).then(cached => {
+                const network = fetch(request).then(response => {
+                    if (response.ok) event.waitUntil(cache.put(key, response.clone()));
+                    return response;
+                });
+
+                if (cached) {
+                    event.waitUntil(network.catch(() => {}));
+                    return cached;
+                }
+                return network;
+            }))
+        );
+        return;
+    }
+
+    // Assets locais versionados: o precache é a fonte da verdade
+    if (url.origin === self.location.origin) {
+        event.respondWith(
+            caches.match(request, { cacheName: PRECACHE })
+                .then(cached => cached || fetch(request))
+        );
+        return;
+    }
+
+    const runtime = RUNTIME_CACHES.find(cache => cache.match(url));
+    if (runtime) {
+        event.respondWith(staleWhileRevalidate(event, runtime.name, runtime.maxEntries));
+    }
+});
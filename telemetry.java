@@ -0,0 +1,279 @@
+// Elliot Project - Telemetria de usuários reais (RUM)
+// Incluído por partials/telemetry.html, antes dos demais scripts:
+//   <script src="telemetry.java" data-endpoint="/telemetry" data-sample="0.1" defer></script>
+// Coletor local: node tools/collector.java (serve o site e recebe os beacons)
+// =============================================
+// Só uma fração das visitas é medida (data-sample; localStorage
+// 'telemetry:sample' sobrescreve para testes). Fora da amostra, tudo aqui
+// vira no-op.
+// Coleta:
+//   - PerformanceObserver: LCP, CLS (janelas de sessão), INP (aprox. p98
+//     das interações), FCP, TTFB, long tasks (TBT), long animation frames
+//     (com o script responsável) e resource timing (resumo por tipo).
+//   - Custo por funcionalidade: metric(nome) reserva um slot uma vez;
+//     record(slot, início) soma contagem/total/máximo em um Float64Array.
+//     Nada é alocado no caminho quente (tick de scroll, lote do reveal).
+// Envio: em visibilitychange → hidden, um payload compacto por sendBeacon.
+// Cada envio leva só o que mudou desde o anterior (o coletor junta os
+// envios da mesma visita pelo id; as métricas vitais valem a última).
+// =============================================
+const Telemetry = (function() {
+    const VERSION = 1;
+    const MAX_FEATURES = 32;
+    const MAX_LIST = 5;       // long tasks / LoAF / recursos mais lentos
+    const MAX_INTERACTIONS = 10;
+    const SESSION_GAP = 1000;  // CLS: janelas de sessão (1 s de folga, 5 s no máximo)
+    const SESSION_MAX = 5000;
+
+    const script = document.currentScript;
+    const endpoint = (script && script.dataset.endpoint) || '/telemetry';
+    const sampled = Math.random() < sampleRate();
+
+    // [contagem, total ms, máximo ms] por funcionalidade
+    const featureStats = new Float64Array(MAX_FEATURES * 3);
+    const featureNames = [];
+
+    const vitals = { lcp: 0, cls: 0, inp: 0, fcp: 0, ttfb: 0 };
+    const interactions = new Map();
+    let interactionCount = 0;
+    const clsWindow = { value: 0, first: 0, last: 0 };
+    let longTaskCount = 0;
+    let blockingTime = 0;
+    let longTasks = [];
+    let animationFrames = [];
+    let resources = {};
+    let slowResources = [];
+    let sequence = 0;
+
+    const viewId = Math.random().toString(36).slice(2, 10);
+    const activationStart = (performance.getEntriesByType('navigation')[0] || {}).activationStart || 0;
+
+    function sampleRate() {
+        try {
+            const override = localStorage.getItem('telemetry:sample');
+            if (override !== null) return Number(override);
+        } catch (e) {
+            // Sem armazenamento: vale o atributo
+        }
+        return script && script.dataset.sample !== undefined ? Number(script.dataset.sample) : 0.1;
+    }
+
+    // =============================================
+    // 1. CUSTO POR FUNCIONALIDADE (sem alocação)
+    // =============================================
+    // Retorna o slot (ou -1 fora da amostra); chamar uma vez, na inicialização
+    function metric(name) {
+        if (!sampled) return -1;
+        let slot = featureNames.indexOf(name);
+        if (slot === -1 && featureNames.length < MAX_FEATURES) {
+            featureNames.push(name);
+            slot = featureNames.length - 1;
+        }
+        return slot;
+    }
+
+    function now() {
+        return sampled ? performance.now() : 0;
+    }
+
+    function record(slot, start) {
+        if (slot < 0) return;
+        const duration = performance.now() - start;
+        const base = slot * 3;
+        featureStats[base]++;
+        featureStats[base + 1] += duration;
+        if (duration > featureStats[base + 2]) featureStats[base + 2] = duration;
+    }
+
+    // Para medições pontuais (inicialização, modal → play)
+    function measure(name, start) {
+        record(metric(name), start);
+    }
+
+    // =============================================
+    // 2. OBSERVERS
+    // =============================================
+    function observe(type, callback, extra) {
+        try {
+            new PerformanceObserver(list => list.getEntries().forEach(callback))
+                .observe(Object.assign({ type, buffered: true }, extra));
+        } catch (e) {
+            // Tipo de entrada não suportado neste navegador
+        }
+    }
+
+    function pushTop(list, item, key) {
+        list.push(item);
+        list.sort((a, b) => b[key] - a[key]);
+        if (list.length > MAX_LIST) list.length = MAX_LIST;
+    }
+
+    function shortName(url) {
+        try {
+            const parsed = new URL(url, location.href);
+            return parsed.origin === location.origin ?
+                parsed.pathname.split('/').pop() :
+                parsed.host + parsed.pathname.slice(0, 40);
+        } catch (e) {
+            return String(url).slice(0, 60);
+        }
+    }
+
+    function startObservers() {
+        // Página pré-renderizada: os tempos contam a partir da ativação
+        observe('largest-contentful-paint', entry => {
+            vitals.lcp = Math.max(0, entry.startTime - activationStart);
+        });
+
+        observe('paint', entry => {
+            if (entry.name === 'first-contentful-paint') vitals.fcp = Math.max(0, entry.startTime - activationStart);
+        });
+
+        observe('navigation', entry => {
+            vitals.ttfb = Math.max(0, entry.responseStart - activationStart);
+        });
+
+        observe('layout-shift', entry => {
+            if (entry.hadRecentInput) return;
+            if (clsWindow.value && entry.startTime - clsWindow.last < SESSION_GAP &&
+                entry.startTime - clsWindow.first < SESSION_MAX) {
+                clsWindow.value += entry.value;
+            } else {
+                clsWindow.value = entry.value;
+                clsWindow.first = entry.startTime;
+            }
+            clsWindow.last = entry.startTime;
+            vitals.cls = Math.max(vitals.cls, clsWindow.value);
+        });
+
+        // INP: maior duração por interação; p98 ≈ a (n/50)-ésima maior.
+        // Só as MAX_INTERACTIONS maiores ficam guardadas.
+        observe('event', entry => {
+            const id = entry.interactionId;
+            if (!id) return;
+            const previous = interactions.get(id);
+            if (previous === undefined) interactionCount++;
+            if (previous !== undefined && previous >= entry.duration) return;
+            interactions.set(id, entry.duration);
+
+            if (interactions.size > MAX_INTERACTIONS) {
+                let shortest = id;
+                interactions.forEach((duration, key) => {
+                    if (duration < interactions.get(shortest)) shortest = key;
+                });
+                interactions.delete(shortest);
+            }
+
+            const durations = [...interactions.values()].sort((a, b) => b - a);
+            vitals.inp = durations[Math.min(durations.length - 1, Math.floor(interactionCount / 50))];
+        }, { durationThreshold: 40 });
+
+        observe('longtask', entry => {
+            longTaskCount++;
+            blockingTime += Math.max(0, entry.duration - 50);
+            pushTop(longTasks, [Math.round(entry.startTime), Math.round(entry.duration)], 1);
+        });
+
+        // Long animation frames: qual script travou o quadro
+        observe('long-animation-frame', entry => {
+            const culprit = (entry.scripts || []).reduce((worst, item) =>
+                !worst || item.duration > worst.duration ? item : worst, null);
+            pushTop(animationFrames, [
+                Math.round(entry.duration),
+                Math.round(entry.blockingDuration || 0),
+                culprit ? culprit.invoker || '' : '',
+                culprit ? shortName(culprit.sourceURL || '') : ''
+            ], 1);
+        });
+
+        observe('resource', entry => {
+            const type = entry.initiatorType || 'other';
+            const summary = resources[type] || (resources[type] = [0, 0, 0]);
+            summary[0]++;
+            summary[1] += entry.transferSize || 0;
+            summary[2] = Math.max(summary[2], Math.round(entry.duration));
+            pushTop(slowResources, [shortName(entry.name), Math.round(entry.duration), entry.transferSize || 0], 1);
+        });
+    }
+
+    // =============================================
+    // 3. ENVIO
+    // =============================================
+    function deviceClass() {
+        const coarse = window.matchMedia('(pointer: coarse)').matches;
+        const memory = navigator.deviceMemory || 4;
+        const cores = navigator.hardwareConcurrency || 4;
+        return (coarse ? 'mobile' : 'desktop') + (memory <= 2 || cores <= 4 ? '-low' : '');
+    }
+
+    function round(value, digits) {
+        const factor = Math.pow(10, digits);
+        return Math.round(value * factor) / factor;
+    }
+
+    function buildPayload() {
+        const features = {};
+        featureNames.forEach((name, slot) => {
+            const base = slot * 3;
+            if (!featureStats[base]) return;
+            features[name] = [featureStats[base], round(featureStats[base + 1], 2), round(featureStats[base + 2], 2)];
+            featureStats[base] = featureStats[base + 1] = featureStats[base + 2] = 0;
+        });
+
+        const navigation = performance.getEntriesByType('navigation')[0];
+        const payload = {
+            v: VERSION,
+            id: viewId,
+            s: sequence++,
+            p: location.pathname.split('/').pop() || 'index.html',
+            d: deviceClass(),
+            n: activationStart ? 'prerender' : (navigation ? navigation.type : 'navigate'),
+            m: {
+                lcp: Math.round(vitals.lcp),
+                cls: round(vitals.cls, 4),
+                inp: Math.round(vitals.inp),
+                fcp: Math.round(vitals.fcp),
+                ttfb: Math.round(vitals.ttfb)
+            },
+            lt: [longTaskCount, Math.round(blockingTime)],
+            f: features
+        };
+
+        // Listas e recursos só vão no envio em que mudaram (depois zeram)
+        if (longTasks.length) payload.ltl = longTasks;
+        if (animationFrames.length) payload.lf = animationFrames;
+        if (Object.keys(resources).length) {
+            payload.r = resources;
+            payload.rs = slowResources;
+        }
+        longTaskCount = 0;
+        blockingTime = 0;
+        longTasks = [];
+        animationFrames = [];
+        resources = {};
+        slowResources = [];
+
+        return payload;
+    }
+
+    function flush() {
+        const body = JSON.stringify(buildPayload());
+        if (navigator.sendBeacon && navigator.sendBeacon(endpoint, body)) return;
+        fetch(endpoint, { method: 'POST', body, keepalive: true }).catch(() => {});
+    }
+
+    if (sampled && 'PerformanceObserver' in window) {
+        startObservers();
+        document.addEventListener('visibilitychange', () => {
+            if (document.visibilityState === 'hidden') flush();
+        });
+    }
+
+    return {
+        sampled,
+        metric,
+        now,
+        record,
+        measure
+    };
+})();
@@ -0,0 +1,354 @@
+// Elliot Project - Build estático do site (dist/)
+// Uso: node tools/build.java [--watch] [--clean]
+// Servir: node tools/serve.java 8080 dist
+// =============================================
+// Etapas:
+//   1. Páginas: regiões @partial expandidas (tools/partials.java) e CSS
+//      crítico inline (tools/critical-css.java).
+//   2. Assets (.java/.css da raiz e data/*.json): minificados
+//      (tools/minify.java). Os que as páginas referenciam ganham o hash do
+//      conteúdo no nome (events.<hash>.java) e cache imutável no servidor;
+//      os que são carregados por nome dentro do JS (sw.java, workers,
+//      importScripts, catálogos) mantêm o nome e são revalidados.
+//   3. Referências das páginas reescritas para os nomes com hash, HTML
+//      minificado e precache-manifest.java gerado com as URLs de dist/
+//      (tools/precache-manifest.java).
+//   4. Irmãos pré-comprimidos .br e .gz de todo arquivo de texto.
+// Incremental: dist/.build-cache.json guarda, para cada saída, o hash de
+// tudo que entra nela (conteúdo, partials, nomes dos assets referenciados e
+// o próprio código do build). Editar uma página só reconstrói essa página;
+// editar um script reconstrói o script e as páginas que o referenciam.
+// Relatório: bytes transferidos por página (HTML + scripts e folhas que ela
+// carrega, em brotli e gzip) e o tempo do build.
+// =============================================
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+const { hashString } = require('./hash-assets.java');
+const { expandPage, PARTIALS_DIR } = require('./partials.java');
+const { processPage } = require('./critical-css.java');
+const { minifyCss, minifyJs, minifyHtml } = require('./minify.java');
+const { renderManifest, dataFiles } = require('./precache-manifest.java');
+
+const ROOT = path.resolve(__dirname, '..');
+const OUT_DIR = path.join(ROOT, 'dist');
+const CACHE_FILE = path.join(OUT_DIR, '.build-cache.json');
+const MANIFEST = 'precache-manifest.java';
+const SEARCH_INDEX = 'search-index.json';
+
+// O manifesto da raiz descreve a raiz; dist/ recebe o seu próprio
+const EXCLUDED = new Set([MANIFEST]);
+const ASSET_REF = /(\s(?:src|href)=")([\w./-]+\.(?:java|css))(?:\?v=[0-9a-f]+)?(")/g;
+const COMPRESSIBLE = /\.(html|css|java|js|json|svg|txt)$/;
+const WATCHED = /\.(html|java|css|json)$/;
+
+// Qualquer mudança no código do build invalida o cache inteiro
+const TOOL_FILES = ['build.java', 'partials.java', 'critical-css.java', 'minify.java', 'precache-manifest.java', 'hash-assets.java'];
+
+// =============================================
+// 1. SAÍDA E COMPRESSÃO
+// =============================================
+function compress(data) {
+    return {
+        br: zlib.brotliCompressSync(data, {
+            params: {
+                [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+                [zlib.constants.BROTLI_PARAM_SIZE_HINT]: data.length
+            }
+        }),
+        gz: zlib.gzipSync(data, { level: zlib.constants.Z_BEST_COMPRESSION })
+    };
+}
+
+// Grava dist/<file> e, se valer a pena, <file>.br e <file>.gz.
+// Retorna { files, size, br, gz } (br/gz = bytes transferidos de fato).
+function writeOutput(file, content) {
+    const data = Buffer.isBuffer(content) ? content : Buffer.from(content);
+    const target = path.join(OUT_DIR, file);
+    const files = [file];
+    const sizes = { size: data.length, br: data.length, gz: data.length };
+
+    fs.mkdirSync(path.dirname(target), { recursive: true });
+    fs.writeFileSync(target, data);
+
+    if (COMPRESSIBLE.test(file)) {
+        const compressed = compress(data);
+        ['br', 'gz'].forEach(encoding => {
+            if (compressed[encoding].length >= data.length) return;
+            fs.writeFileSync(`${target}.${encoding}`, compressed[encoding]);
+            files.push(`${file}.${encoding}`);
+            sizes[encoding] = compressed[encoding].length;
+        });
+    }
+
+    return Object.assign({ files }, sizes);
+}
+
+function hashedName(file, content) {
+    const ext = path.extname(file);
+    return `${file.slice(0, -ext.length)}.${hashString(content)}${ext}`;
+}
+
+function minifyAsset(file, source) {
+    if (file.endsWith('.css')) return minifyCss(source);
+    if (file.endsWith('.java')) return minifyJs(source, file);
+    if (file.endsWith('.json')) return JSON.stringify(JSON.parse(source));
+    return source;
+}
+
+// =============================================
+// 2. CACHE
+// =============================================
+function toolHash() {
+    return hashString(TOOL_FILES.map(name => fs.readFileSync(path.join(__dirname, name), 'utf8')).join('\0'));
+}
+
+function loadCache(tool) {
+    try {
+        const cache = JSON.parse(fs.readFileSync(CACHE_FILE, 'utf8'));
+        if (cache.tool === tool) return cache;
+    } catch (e) {
+        // Sem cache (primeiro build ou dist/ apagado)
+    }
+    return { tool, entries: {} };
+}
+
+// Reaproveita a entrada se a chave bate e todas as saídas ainda existem
+function cached(cache, id, key) {
+    const entry = cache.entries[id];
+    if (!entry || entry.key !== key) return null;
+    return entry.files.every(file => fs.existsSync(path.join(OUT_DIR, file))) ? entry : null;
+}
+
+// =============================================
+// 3. ETAPAS
+// =============================================
+function localRefs(html) {
+    const refs = new Set();
+    html.replace(ASSET_REF, (match, before, ref) => {
+        if (fs.existsSync(path.join(ROOT, ref))) refs.add(ref);
+        return match;
+    });
+    return refs;
+}
+
+function readPages() {
+    return fs.readdirSync(ROOT)
+        .filter(name => name.endsWith('.html'))
+        .sort()
+        .map(name => {
+            const { html } = expandPage(fs.readFileSync(path.join(ROOT, name), 'utf8').replace(/\r\n/g, '\n'));
+            return { name, html, refs: localRefs(html) };
+        });
+}
+
+function buildAsset(cache, next, name, referenced) {
+    const source = fs.readFileSync(path.join(ROOT, name), 'utf8');
+    const key = hashString(`${referenced ? 'hashed' : 'stable'}\0${source}`);
+    const id = `asset:${name}`;
+
+    let entry = cached(cache, id, key);
+    const rebuilt = !entry;
+    if (!entry) {
+        const minified = minifyAsset(name, source);
+        const output = referenced ? hashedName(name, minified) : name;
+        const written = writeOutput(output, minified);
+        entry = { key, files: written.files, output, revision: hashString(minified), size: written.size, br: written.br, gz: written.gz };
+    }
+
+    next.entries[id] = entry;
+    return Object.assign({ rebuilt }, entry);
+}
+
+function buildPage(cache, next, page, assets) {
+    // Chave: HTML já expandido + nomes finais dos assets que ele referencia
+    const refs = [...page.refs].sort().map(ref => `${ref}=${assets[ref] ? assets[ref].output : ''}`);
+    const key = hashString(`${page.html}\0${refs.join('\0')}`);
+    const id = `page:${page.name}`;
+
+    let entry = cached(cache, id, key);
+    const rebuilt = !entry;
+    if (!entry) {
+        const { html, assets: extracted } = processPage(page.name, page.html);
+        const files = [];
+        const generated = {};
+        const owned = [];
+
+        // Folhas extraídas dos <style> da página (css/<página>-<n>.css)
+        extracted.forEach(asset => {
+            const minified = minifyCss(asset.content);
+            const output = hashedName(asset.file, minified);
+            const written = writeOutput(output, minified);
+            files.push(...written.files);
+            generated[asset.file] = output;
+            owned.push({ url: output, revision: hashString(minified), br: written.br, gz: written.gz });
+        });
+
+        const rewritten = html.replace(ASSET_REF, (match, before, ref, after) => {
+            const output = generated[ref] || (assets[ref] && assets[ref].output);
+            return output ? `${before}${output}${after}` : match;
+        });
+
+        const minified = minifyHtml(rewritten, page.name);
+        const written = writeOutput(page.name, minified);
+        files.push(...written.files);
+
+        const loads = [];
+        minified.replace(/\s(?:src|href)="([\w./-]+\.(?:java|css))"/g, (match, url) => {
+            if (!loads.includes(url)) loads.push(url);
+            return match;
+        });
+
+        entry = {
+            key, files, owned, loads,
+            revision: hashString(minified),
+            size: written.size, br: written.br, gz: written.gz
+        };
+    }
+
+    next.entries[id] = entry;
+    return Object.assign({ rebuilt }, entry);
+}
+
+function buildManifest(pages, assets) {
+    const entries = pages.map(page => ({ url: page.name, revision: page.result.revision }));
+
+    pages.forEach(page => page.result.owned.forEach(asset => entries.push({ url: asset.url, revision: asset.revision })));
+    Object.keys(assets).sort().forEach(name => {
+        const asset = assets[name];
+        if (name !== 'sw.java' && name !== SEARCH_INDEX) entries.push({ url: asset.output, revision: asset.revision });
+    });
+    if (assets[SEARCH_INDEX]) entries.push({ url: SEARCH_INDEX, revision: assets[SEARCH_INDEX].revision });
+
+    const source = renderManifest(entries);
+    const target = path.join(OUT_DIR, MANIFEST);
+    const current = fs.existsSync(target) ? fs.readFileSync(target, 'utf8') : null;
+    const minified = minifyJs(source, MANIFEST);
+    if (current !== minified) return writeOutput(MANIFEST, minified).files;
+    return [MANIFEST, `${MANIFEST}.br`, `${MANIFEST}.gz`].filter(file => fs.existsSync(path.join(OUT_DIR, file)));
+}
+
+function copyImages(previous, next) {
+    const dir = path.join(ROOT, 'images');
+    if (!fs.existsSync(dir)) return;
+
+    fs.readdirSync(dir, { withFileTypes: true })
+        .filter(item => item.isFile() && !item.name.endsWith('.json'))
+        .forEach(item => {
+            const file = `images/${item.name}`;
+            const data = fs.readFileSync(path.join(ROOT, file));
+            const key = hashString(data);
+            const id = `image:${file}`;
+            next.entries[id] = cached(previous, id, key) || { key, files: writeOutput(file, data).files };
+        });
+}
+
+// Remove de dist/ o que o build anterior gerou e este não gerou mais
+function removeStale(previous, next, extra) {
+    const current = new Set(extra);
+    Object.values(next.entries).forEach(entry => entry.files.forEach(file => current.add(file)));
+
+    Object.values(previous.entries).forEach(entry => entry.files.forEach(file => {
+        if (!current.has(file)) fs.rmSync(path.join(OUT_DIR, file), { force: true });
+    }));
+}
+
+// =============================================
+// 4. EXECUÇÃO
+// =============================================
+function kb(bytes) {
+    return `${(bytes / 1024).toFixed(1)} KB`;
+}
+
+function build() {
+    const started = process.hrtime.bigint();
+    const tool = toolHash();
+    const previous = loadCache(tool);
+    const next = { tool, entries: {} };
+    fs.mkdirSync(OUT_DIR, { recursive: true });
+
+    const pages = readPages();
+    const referenced = new Set();
+    pages.forEach(page => page.refs.forEach(ref => referenced.add(ref)));
+
+    const assets = {};
+    fs.readdirSync(ROOT)
+        .filter(name => /\.(java|css)$/.test(name) && !EXCLUDED.has(name))
+        .concat(fs.existsSync(path.join(ROOT, SEARCH_INDEX)) ? [SEARCH_INDEX] : [])
+        .concat(dataFiles())
+        .sort()
+        .forEach(name => {
+            assets[name] = buildAsset(previous, next, name, referenced.has(name));
+        });
+
+    pages.forEach(page => {
+        page.result = buildPage(previous, next, page, assets);
+    });
+
+    const manifestFiles = buildManifest(pages, assets);
+    copyImages(previous, next);
+    removeStale(previous, next, manifestFiles);
+
+    fs.writeFileSync(CACHE_FILE, JSON.stringify(next, null, 1));
+
+    const elapsed = Number(process.hrtime.bigint() - started) / 1e6;
+    report(pages, assets, elapsed);
+}
+
+function report(pages, assets, elapsed) {
+    const byUrl = {};
+    Object.values(assets).forEach(asset => {
+        byUrl[asset.output] = asset;
+    });
+    pages.forEach(page => page.result.owned.forEach(asset => {
+        byUrl[asset.url] = asset;
+    }));
+
+    const width = Math.max(...pages.map(page => page.name.length));
+    pages.forEach(page => {
+        const result = page.result;
+        const loaded = result.loads.map(url => byUrl[url]).filter(Boolean);
+        const br = loaded.reduce((total, asset) => total + asset.br, result.br);
+        const gz = loaded.reduce((total, asset) => total + asset.gz, result.gz);
+        console.log(`${page.name.padEnd(width)}  HTML ${kb(result.size)} -> ${kb(result.br)} br | ` +
+            `com ${loaded.length} asset(s): ${kb(br)} br, ${kb(gz)} gz${result.rebuilt ? '' : ' (cache)'}`);
+    });
+
+    const rebuiltPages = pages.filter(page => page.result.rebuilt).length;
+    const assetList = Object.values(assets);
+    const rebuiltAssets = assetList.filter(asset => asset.rebuilt).length;
+    console.log(`Build: ${rebuiltPages}/${pages.length} página(s) e ${rebuiltAssets}/${assetList.length} asset(s) ` +
+        `reconstruídos em ${elapsed.toFixed(0)} ms`);
+}
+
+function run() {
+    try {
+        build();
+    } catch (error) {
+        console.error(error.message);
+        process.exitCode = 1;
+    }
+}
+
+function watch() {
+    let timer = null;
+    const schedule = (event, name) => {
+        if (!name || !WATCHED.test(name) || name === MANIFEST) return;
+        clearTimeout(timer);
+        timer = setTimeout(run, 100);
+    };
+
+    fs.watch(ROOT, schedule);
+    fs.watch(PARTIALS_DIR, schedule);
+    if (fs.existsSync(path.join(ROOT, 'data'))) fs.watch(path.join(ROOT, 'data'), schedule);
+    fs.watch(__dirname, schedule);
+    console.log('Observando alterações (Ctrl+C para sair)...');
+}
+
+if (require.main === module) {
+    if (process.argv.includes('--clean')) fs.rmSync(OUT_DIR, { recursive: true, force: true });
+    run();
+    if (process.argv.includes('--watch')) watch();
+}
+
+module.exports = { build, writeOutput, hashedName };
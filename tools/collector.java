@@ -0,0 +1,207 @@
+// Elliot Project - Coletor local da telemetria (telemetry.java)
+// Uso: node tools/collector.java [porta] [diretório]   (serve o site + recebe beacons)
+//      node tools/collector.java --report [arquivo]     (agrega o que foi coletado)
+// =============================================
+// Servidor: os arquivos vêm do tools/serve.java; POST /telemetry grava cada
+// payload (uma linha JSON, com a hora de chegada) em telemetry/beacons.ndjson.
+// Relatório: junta os envios de cada visita (id), e para cada página e
+// classe de aparelho calcula p50/p75/p95 de LCP, CLS, INP, TTFB e TBT, do
+// custo médio por chamada de cada funcionalidade (scroll-tick, reveal-batch,
+// modal-open-to-play...) e lista os scripts que mais aparecem nos long
+// animation frames.
+// =============================================
+const http = require('http');
+const fs = require('fs');
+const path = require('path');
+const { createHandler } = require('./serve.java');
+
+const ROOT = path.resolve(__dirname, '..');
+const DATA_FILE = path.join(ROOT, 'telemetry', 'beacons.ndjson');
+const ENDPOINT = '/telemetry';
+const MAX_BODY = 64 * 1024;
+const VITALS = ['lcp', 'cls', 'inp', 'ttfb', 'tbt'];
+
+// =============================================
+// 1. COLETA
+// =============================================
+function collect(req, res) {
+    let size = 0;
+    const chunks = [];
+
+    req.on('data', chunk => {
+        size += chunk.length;
+        if (size > MAX_BODY) {
+            res.writeHead(413);
+            res.end();
+            req.destroy();
+            return;
+        }
+        chunks.push(chunk);
+    });
+
+    req.on('end', () => {
+        if (res.writableEnded) return;
+        let payload;
+        try {
+            payload = JSON.parse(Buffer.concat(chunks).toString('utf8'));
+        } catch (e) {
+            res.writeHead(400);
+            res.end();
+            return;
+        }
+
+        payload.at = Date.now();
+        fs.mkdirSync(path.dirname(DATA_FILE), { recursive: true });
+        fs.appendFile(DATA_FILE, JSON.stringify(payload) + '\n', () => {});
+        res.writeHead(204);
+        res.end();
+    });
+}
+
+function createCollector(root) {
+    const serveStatic = createHandler(root);
+    return http.createServer((req, res) => {
+        if (req.method === 'POST' && req.url.split('?')[0] === ENDPOINT) collect(req, res);
+        else serveStatic(req, res);
+    });
+}
+
+// =============================================
+// 2. AGREGAÇÃO
+// =============================================
+function readBeacons(file) {
+    if (!fs.existsSync(file)) return [];
+    return fs.readFileSync(file, 'utf8')
+        .split('\n')
+        .filter(Boolean)
+        .map(line => {
+            try {
+                return JSON.parse(line);
+            } catch (e) {
+                return null;
+            }
+        })
+        .filter(Boolean);
+}
+
+// Uma visita = todos os envios com o mesmo id
+function mergeViews(beacons) {
+    const views = new Map();
+
+    beacons.forEach(beacon => {
+        let view = views.get(beacon.id);
+        if (!view) {
+            view = { page: beacon.p, device: beacon.d, seq: -1, vitals: {}, tbt: 0, features: {}, culprits: [] };
+            views.set(beacon.id, view);
+        }
+
+        // Métricas vitais: vale o envio mais recente
+        if (beacon.s > view.seq) {
+            view.seq = beacon.s;
+            view.vitals = beacon.m || {};
+        }
+        if (beacon.lt) view.tbt += beacon.lt[1];
+        (beacon.lf || []).forEach(frame => view.culprits.push(frame[3] || frame[2] || '(desconhecido)'));
+
+        Object.keys(beacon.f || {}).forEach(name => {
+            const [count, total, max] = beacon.f[name];
+            const stats = view.features[name] || (view.features[name] = [0, 0, 0]);
+            stats[0] += count;
+            stats[1] += total;
+            stats[2] = Math.max(stats[2], max);
+        });
+    });
+
+    return [...views.values()];
+}
+
+function percentile(sorted, p) {
+    if (!sorted.length) return NaN;
+    return sorted[Math.min(sorted.length - 1, Math.ceil(p / 100 * sorted.length) - 1)];
+}
+
+function summarize(values) {
+    const sorted = values.filter(value => Number.isFinite(value)).sort((a, b) => a - b);
+    return { n: sorted.length, p50: percentile(sorted, 50), p75: percentile(sorted, 75), p95: percentile(sorted, 95) };
+}
+
+function aggregate(views) {
+    const groups = new Map();
+    views.forEach(view => {
+        const key = `${view.page} · ${view.device}`;
+        if (!groups.has(key)) groups.set(key, []);
+        groups.get(key).push(view);
+    });
+
+    return [...groups.keys()].sort().map(key => {
+        const group = groups.get(key);
+        const vitals = {};
+        VITALS.forEach(name => {
+            vitals[name] = summarize(group.map(view => name === 'tbt' ? view.tbt : view.vitals[name]));
+        });
+
+        const features = {};
+        group.forEach(view => Object.keys(view.features).forEach(name => {
+            features[name] = features[name] || [];
+            const [count, total] = view.features[name];
+            if (count) features[name].push(total / count);
+        }));
+        Object.keys(features).forEach(name => {
+            features[name] = summarize(features[name]);
+        });
+
+        const culprits = {};
+        group.forEach(view => view.culprits.forEach(name => {
+            culprits[name] = (culprits[name] || 0) + 1;
+        }));
+        const topCulprits = Object.entries(culprits).sort((a, b) => b[1] - a[1]).slice(0, 3);
+
+        return { key, views: group.length, vitals, features, culprits: topCulprits };
+    });
+}
+
+// =============================================
+// 3. RELATÓRIO
+// =============================================
+function format(value, name) {
+    if (!Number.isFinite(value)) return '-';
+    return name === 'cls' ? value.toFixed(3) : `${value.toFixed(value < 10 ? 1 : 0)}`;
+}
+
+function printReport(rows) {
+    if (!rows.length) {
+        console.log(`Nenhum beacon em ${path.relative(ROOT, DATA_FILE)}`);
+        return;
+    }
+
+    rows.forEach(row => {
+        console.log(`\n${row.key} (${row.views} visita(s))`);
+        console.log('  métrica               p50      p75      p95');
+        VITALS.forEach(name => {
+            const s = row.vitals[name];
+            console.log(`  ${name.padEnd(20)} ${format(s.p50, name).padStart(6)}   ${format(s.p75, name).padStart(6)}   ${format(s.p95, name).padStart(6)}`);
+        });
+        Object.keys(row.features).sort().forEach(name => {
+            const s = row.features[name];
+            console.log(`  ${(name + ' (ms)').padEnd(20)} ${format(s.p50).padStart(6)}   ${format(s.p75).padStart(6)}   ${format(s.p95).padStart(6)}`);
+        });
+        if (row.culprits.length) {
+            console.log(`  LoAF: ${row.culprits.map(([name, count]) => `${name} (${count})`).join(', ')}`);
+        }
+    });
+}
+
+if (require.main === module) {
+    const args = process.argv.slice(2);
+    if (args[0] === '--report') {
+        printReport(aggregate(mergeViews(readBeacons(args[1] ? path.resolve(args[1]) : DATA_FILE))));
+    } else {
+        const port = Number(args[0]) || 8080;
+        const root = args[1] || ROOT;
+        createCollector(root).listen(port, () => {
+            console.log(`Servindo ${root} em http://localhost:${port}/ (beacons: POST ${ENDPOINT})`);
+        });
+    }
+}
+
+module.exports = { createCollector, mergeViews, aggregate, percentile };
@@ -0,0 +1,311 @@
+// Elliot Project - CSS crítico por página + carregamento assíncrono do resto
+// Uso: node tools/critical-css.java [saída]   (padrão: dist/)
+// =============================================
+// Para cada página, o conteúdo "acima da dobra" é o trecho do <body> até o
+// fim do primeiro </header> (navbar + hero). As regras de CSS cujos
+// seletores só usam tags/classes/ids presentes nesse trecho ficam inline
+// em um <style> crítico; a folha completa da página vai para
+// css/<página>-<n>.css e é carregada de forma assíncrona (preload + onload),
+// na mesma posição do documento, preservando a ordem da cascata.
+// Folhas locais pequenas (ex.: icons.css) são simplesmente inlinadas.
+// As fontes (@font-face com woff2) usadas pelas regras acima da dobra
+// ganham <link rel="preload" as="font">: o arquivo começa a baixar junto
+// com o HTML, sem esperar o CSS ser aplicado (ex.: ícones da navbar).
+// As do Google Fonts continuam vindo da folha deles (URLs por navegador e
+// versão; o preconnect fica no partial head-fonts).
+// =============================================
+const fs = require('fs');
+const path = require('path');
+const { contentHash, hashString } = require('./hash-assets.java');
+
+const ROOT = path.resolve(__dirname, '..');
+const INLINE_LIMIT = 4096; // bytes: folhas menores que isso vão inline
+const FOLD_FALLBACK = 6000; // caracteres do <body> quando não há <header>
+
+// Pseudo-classes de interação não são necessárias para a primeira pintura
+const INTERACTION_PSEUDO = /:(hover|focus|focus-within|focus-visible|active|visited)\b/;
+
+// =============================================
+// 1. PARSER MÍNIMO DE CSS
+// =============================================
+function matchBrace(css, open) {
+    let depth = 0;
+    let quote = null;
+    for (let i = open; i < css.length; i++) {
+        const ch = css[i];
+        if (quote) {
+            if (ch === '\\') i++;
+            else if (ch === quote) quote = null;
+        } else if (ch === '"' || ch === "'") {
+            quote = ch;
+        } else if (ch === '{') {
+            depth++;
+        } else if (ch === '}') {
+            depth--;
+            if (depth === 0) return i;
+        }
+    }
+    return css.length;
+}
+
+function parseCss(css) {
+    const nodes = [];
+    let i = 0;
+
+    while (i < css.length) {
+        const open = css.indexOf('{', i);
+        if (open === -1) break;
+
+        let prelude = css.slice(i, open);
+        // Declarações soltas (@import/@charset) antes do bloco
+        const lastSemicolon = prelude.lastIndexOf(';');
+        if (lastSemicolon !== -1 && prelude.trim().startsWith('@')) {
+            prelude.slice(0, lastSemicolon + 1).split(';').forEach(statement => {
+                if (statement.trim()) nodes.push({ type: 'statement', text: statement.trim() + ';' });
+            });
+            prelude = prelude.slice(lastSemicolon + 1);
+        }
+        prelude = prelude.trim();
+
+        const close = matchBrace(css, open);
+        const body = css.slice(open + 1, close);
+
+        if (/^@(media|supports|layer)\b/.test(prelude)) {
+            nodes.push({ type: 'group', prelude, children: parseCss(body) });
+        } else if (prelude.startsWith('@')) {
+            nodes.push({ type: 'at', prelude, body });
+        } else {
+            nodes.push({ type: 'rule', selector: prelude, body });
+        }
+        i = close + 1;
+    }
+    return nodes;
+}
+
+function compactBody(body) {
+    return body.trim().replace(/\s*\n\s*/g, ' ');
+}
+
+function serialize(nodes) {
+    return nodes.map(node => {
+        if (node.type === 'statement') return node.text;
+        if (node.type === 'group') return `${node.prelude}{${serialize(node.children)}}`;
+        if (node.type === 'at') return `${node.prelude}{${compactBody(node.body)}}`;
+        return `${node.selector.replace(/\s+/g, ' ')}{${compactBody(node.body)}}`;
+    }).join('\n');
+}
+
+// =============================================
+// 2. O QUE ESTÁ ACIMA DA DOBRA
+// =============================================
+function foldTokens(html) {
+    const bodyStart = html.search(/<body[\s>]/i);
+    const headerEnd = html.indexOf('</header>', bodyStart);
+    const fold = headerEnd !== -1 ?
+        html.slice(bodyStart, headerEnd) :
+        html.slice(bodyStart, bodyStart + FOLD_FALLBACK);
+
+    const tags = new Set(['html', 'body']);
+    const classes = new Set();
+    const ids = new Set();
+    let match;
+
+    const tagPattern = /<([a-zA-Z][\w-]*)/g;
+    while ((match = tagPattern.exec(fold))) tags.add(match[1].toLowerCase());
+
+    const classPattern = /\sclass="([^"]*)"/g;
+    while ((match = classPattern.exec(fold))) {
+        match[1].split(/\s+/).forEach(name => name && classes.add(name));
+    }
+
+    const idPattern = /\sid="([^"]*)"/g;
+    while ((match = idPattern.exec(fold))) ids.add(match[1]);
+
+    return { tags, classes, ids };
+}
+
+function splitSelectorList(selector) {
+    const parts = [];
+    let depth = 0;
+    let start = 0;
+    for (let i = 0; i < selector.length; i++) {
+        const ch = selector[i];
+        if (ch === '(') depth++;
+        else if (ch === ')') depth--;
+        else if (ch === ',' && depth === 0) {
+            parts.push(selector.slice(start, i));
+            start = i + 1;
+        }
+    }
+    parts.push(selector.slice(start));
+    return parts.map(part => part.trim()).filter(Boolean);
+}
+
+function isCriticalSelector(selector, fold) {
+    // Seletores inválidos (ex.: lixo de marcação dentro do <style>) ficam de fora
+    if (selector.includes('<')) return false;
+
+    return splitSelectorList(selector).some(complex => {
+        if (INTERACTION_PSEUDO.test(complex)) return false;
+
+        const cleaned = complex
+            .replace(/::?[\w-]+(\([^)]*\))?/g, '')
+            .replace(/\[[^\]]*\]/g, '');
+
+        const classes = cleaned.match(/\.[\w-]+/g) || [];
+        const ids = cleaned.match(/#[\w-]+/g) || [];
+        const tags = (cleaned.match(/(?:^|[\s>+~])([a-zA-Z][\w-]*)/g) || [])
+            .map(tag => tag.replace(/^[\s>+~]+/, '').toLowerCase());
+
+        return classes.every(name => fold.classes.has(name.slice(1))) &&
+            ids.every(name => fold.ids.has(name.slice(1))) &&
+            tags.every(name => fold.tags.has(name));
+    });
+}
+
+function criticalNodes(nodes, fold) {
+    const result = [];
+    nodes.forEach(node => {
+        if (node.type === 'rule') {
+            if (isCriticalSelector(node.selector, fold)) result.push(node);
+        } else if (node.type === 'group') {
+            const children = criticalNodes(node.children, fold);
+            if (children.length) result.push({ type: 'group', prelude: node.prelude, children });
+        } else if (node.type === 'at' && /^@(font-face|view-transition)\b/.test(node.prelude)) {
+            // @view-transition precisa estar presente antes da primeira pintura
+            result.push(node);
+        } else if (node.type === 'statement' && node.text.startsWith('@charset')) {
+            result.push(node);
+        }
+    });
+    return result;
+}
+
+// Mantém só os @keyframes usados pelas regras críticas
+function usedKeyframes(nodes, critical) {
+    const text = serialize(critical);
+    const result = [];
+    const visit = list => list.forEach(node => {
+        if (node.type === 'group') visit(node.children);
+        if (node.type === 'at' && /^@(-webkit-)?keyframes\s/.test(node.prelude)) {
+            const name = node.prelude.split(/\s+/)[1];
+            if (new RegExp(`\\b${name}\\b`).test(text)) result.push(node);
+        }
+    });
+    visit(nodes);
+    return result;
+}
+
+// =============================================
+// 3. PRELOAD DAS FONTES ACIMA DA DOBRA
+// =============================================
+function fontFaces(nodes) {
+    const faces = [];
+    nodes.forEach(node => {
+        if (node.type === 'group') faces.push(...fontFaces(node.children));
+        if (node.type !== 'at' || !/^@font-face\b/.test(node.prelude)) return;
+
+        const family = /font-family\s*:\s*['"]?([^;'"]+)/.exec(node.body);
+        const file = /url\(\s*['"]?([^'")]+\.woff2)['"]?\s*\)/.exec(node.body);
+        if (family && file) faces.push({ family: family[1].trim(), url: file[1] });
+    });
+    return faces;
+}
+
+// URLs dos woff2 cujas famílias aparecem nas regras críticas de qualquer
+// folha da página (a família pode ser declarada numa e usada em outra)
+function fontPreloads(sheets, fold) {
+    const faces = [];
+    let used = '';
+    sheets.forEach(css => {
+        const nodes = parseCss(css.replace(/\/\*[\s\S]*?\*\//g, ''));
+        faces.push(...fontFaces(nodes));
+        used += serialize(criticalNodes(nodes, fold).filter(node => node.type !== 'at'));
+    });
+    return [...new Set(faces.filter(face => used.includes(face.family)).map(face => face.url))];
+}
+
+function preloadFont(href) {
+    return `<link rel="preload" href="${href}" as="font" type="font/woff2" crossorigin>`;
+}
+
+function extractCritical(css, fold) {
+    const nodes = parseCss(css.replace(/\/\*[\s\S]*?\*\//g, ''));
+    const critical = criticalNodes(nodes, fold);
+    return serialize(critical.concat(usedKeyframes(nodes, critical)));
+}
+
+// =============================================
+// 4. TRANSFORMAÇÃO DA PÁGINA
+// =============================================
+function asyncStylesheet(href) {
+    return `<link rel="preload" href="${href}" as="style" onload="this.onload=null;this.rel='stylesheet'">` +
+        `<noscript><link rel="stylesheet" href="${href}"></noscript>`;
+}
+
+// Retorna { html, assets: [{ file, content }] }
+function processPage(name, html) {
+    const fold = foldTokens(html);
+    const base = path.basename(name, '.html');
+    const assets = [];
+    const sheets = [];
+    let count = 0;
+
+    // Blocos <style> inline
+    let result = html.replace(/<style>([\s\S]*?)<\/style>/g, (match, css) => {
+        sheets.push(css);
+        const file = `css/${base}-${++count}.css`;
+        assets.push({ file, content: css });
+        const version = hashString(css);
+        return `<style>${extractCritical(css, fold)}</style>\n    ${asyncStylesheet(`${file}?v=${version}`)}`;
+    });
+
+    // Folhas locais: pequenas vão inline, grandes viram crítico + assíncrono
+    result = result.replace(/<link rel="stylesheet" href="([\w./-]+\.css)(?:\?v=[0-9a-f]+)?">/g, (match, href) => {
+        const file = path.join(ROOT, href);
+        if (!fs.existsSync(file)) return match;
+
+        const css = fs.readFileSync(file, 'utf8');
+        sheets.push(css);
+        if (Buffer.byteLength(css) <= INLINE_LIMIT) {
+            return `<style>${serialize(parseCss(css.replace(/\/\*[\s\S]*?\*\//g, '')))}</style>`;
+        }
+        return `<style>${extractCritical(css, fold)}</style>\n    ${asyncStylesheet(`${href}?v=${contentHash(file)}`)}`;
+    });
+
+    // Logo depois do <meta charset> (ou do <head>): antes de qualquer CSS
+    const preloads = fontPreloads(sheets, fold).map(preloadFont).join('\n    ');
+    if (preloads) {
+        result = result.replace(/<meta charset[^>]*>|<head[^>]*>/i, tag => `${tag}\n    ${preloads}`);
+    }
+
+    return { html: result, assets };
+}
+
+function main() {
+    const outDir = path.resolve(process.argv[2] || path.join(ROOT, 'dist'));
+    fs.mkdirSync(path.join(outDir, 'css'), { recursive: true });
+
+    // Assets da raiz (scripts, folhas, manifesto) são copiados como estão
+    fs.readdirSync(ROOT)
+        .filter(name => /\.(java|css)$/.test(name))
+        .forEach(name => fs.copyFileSync(path.join(ROOT, name), path.join(outDir, name)));
+
+    fs.readdirSync(ROOT).filter(name => name.endsWith('.html')).forEach(name => {
+        const source = fs.readFileSync(path.join(ROOT, name), 'utf8');
+        const { html, assets } = processPage(name, source);
+
+        assets.forEach(asset => fs.writeFileSync(path.join(outDir, asset.file), asset.content));
+        fs.writeFileSync(path.join(outDir, name), html);
+
+        const inline = (html.match(/<style>[\s\S]*?<\/style>/g) || []).join('').length;
+        const deferred = assets.reduce((total, asset) => total + asset.content.length, 0);
+        console.log(`${name}: CSS crítico ${(inline / 1024).toFixed(1)} KB inline, ${(deferred / 1024).toFixed(1)} KB assíncrono`);
+    });
+}
+
+if (require.main === module) {
+    main();
+}
+
+module.exports = { parseCss, serialize, foldTokens, extractCritical, fontPreloads, processPage };
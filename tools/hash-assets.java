@@ -0,0 +1,60 @@
+// Elliot Project - Versionamento de assets por hash de conteúdo
+// Uso: node tools/hash-assets.java
+// =============================================
+// Reescreve, em todas as páginas .html da raiz, as referências locais a
+// scripts e folhas de estilo para "arquivo?v=<hash>", onde <hash> é o
+// SHA-256 (10 primeiros dígitos) do conteúdo atual do arquivo.
+// Como a URL muda sempre que o conteúdo muda, o servidor pode enviar
+// esses assets com cache longo (Cache-Control: immutable).
+// =============================================
+const fs = require('fs');
+const path = require('path');
+const crypto = require('crypto');
+
+const ROOT = path.resolve(__dirname, '..');
+const ASSET_REF = /(\s(?:src|href)=")([\w./-]+\.(?:java|css))(?:\?v=[0-9a-f]+)?(")/g;
+
+const hashCache = new Map();
+
+function hashString(data) {
+    return crypto.createHash('sha256').update(data).digest('hex').slice(0, 10);
+}
+
+function contentHash(file) {
+    if (!hashCache.has(file)) {
+        hashCache.set(file, hashString(fs.readFileSync(file)));
+    }
+    return hashCache.get(file);
+}
+
+function versionPage(page) {
+    const html = fs.readFileSync(page, 'utf8');
+    let changed = 0;
+
+    const result = html.replace(ASSET_REF, (match, before, ref, after) => {
+        const file = path.join(ROOT, ref);
+        if (!fs.existsSync(file)) return match;
+
+        const versioned = `${before}${ref}?v=${contentHash(file)}${after}`;
+        if (versioned !== match) changed++;
+        return versioned;
+    });
+
+    if (changed) fs.writeFileSync(page, result);
+    return changed;
+}
+
+function main() {
+    const pages = fs.readdirSync(ROOT).filter(name => name.endsWith('.html'));
+
+    pages.forEach(name => {
+        const changed = versionPage(path.join(ROOT, name));
+        console.log(`${name}: ${changed} referência(s) atualizada(s)`);
+    });
+}
+
+if (require.main === module) {
+    main();
+}
+
+module.exports = { contentHash, hashString, versionPage };
@@ -0,0 +1,80 @@
+// Elliot Project - Verificação e subset dos ícones (icons.css)
+// Uso: node tools/icons.java [caminho/para/fa-solid-900.woff2]
+// =============================================
+// 1. Procura todas as classes fa-* usadas nas páginas e scripts e avisa
+//    quais não têm regra em icons.css.
+// 2. Se o woff2 original do Font Awesome for informado e o pyftsubset
+//    (fonttools) estiver instalado, gera fonts/fa-solid-subset.woff2 só com
+//    os glifos de icons.css e aponta o @font-face para ele.
+// =============================================
+const fs = require('fs');
+const path = require('path');
+const { execFileSync } = require('child_process');
+
+const ROOT = path.resolve(__dirname, '..');
+const ICONS_CSS = path.join(ROOT, 'icons.css');
+const SUBSET_FONT = 'fonts/fa-solid-subset.woff2';
+
+// Classes utilitárias do Font Awesome que não são ícones
+const NOT_ICONS = new Set(['fa-solid', 'fa-regular', 'fa-brands', 'fa-spin', 'fa-pulse', 'fa-fw']);
+
+function usedIcons() {
+    const used = new Set();
+    fs.readdirSync(ROOT)
+        .filter(name => name.endsWith('.html') || name.endsWith('.java'))
+        .forEach(name => {
+            const source = fs.readFileSync(path.join(ROOT, name), 'utf8');
+            (source.match(/\bfa-[a-z0-9-]+/g) || []).forEach(icon => {
+                if (!NOT_ICONS.has(icon)) used.add(icon);
+            });
+        });
+    return used;
+}
+
+function definedIcons(css) {
+    const defined = new Map();
+    const rule = /\.(fa-[a-z0-9-]+)::before\s*\{\s*content:\s*"\\([0-9a-f]+)"/g;
+    let match;
+    while ((match = rule.exec(css))) {
+        defined.set(match[1], match[2]);
+    }
+    return defined;
+}
+
+function subsetFont(source, codepoints) {
+    const output = path.join(ROOT, SUBSET_FONT);
+    fs.mkdirSync(path.dirname(output), { recursive: true });
+    execFileSync('pyftsubset', [
+        source,
+        `--unicodes=${codepoints.map(code => 'U+' + code).join(',')}`,
+        '--flavor=woff2',
+        '--layout-features=',
+        `--output-file=${output}`
+    ], { stdio: 'inherit' });
+    return fs.statSync(output).size;
+}
+
+function main() {
+    let css = fs.readFileSync(ICONS_CSS, 'utf8');
+    const defined = definedIcons(css);
+    const missing = [...usedIcons()].filter(icon => !defined.has(icon)).sort();
+
+    console.log(`icons.css: ${defined.size} ícone(s) definidos`);
+    if (missing.length) {
+        console.warn(`Sem regra em icons.css (não existem no Font Awesome Free ou faltam no subset): ${missing.join(', ')}`);
+    }
+
+    const fontSource = process.argv[2];
+    if (!fontSource) return;
+
+    const size = subsetFont(fontSource, [...defined.values()]);
+    css = css.replace(/src: url\([^)]*\) format\('woff2'\);/, `src: url('${SUBSET_FONT}') format('woff2');`);
+    fs.writeFileSync(ICONS_CSS, css);
+    console.log(`${SUBSET_FONT}: ${(size / 1024).toFixed(1)} KB`);
+}
+
+if (require.main === module) {
+    main();
+}
+
+module.exports = { usedIcons, definedIcons };
@@ -0,0 +1,314 @@
+// Elliot Project - Pipeline de imagens responsivas
+// Uso: node tools/images.java [--no-placeholders]
+// =============================================
+// Lê images/images.json e, em todas as páginas .html da raiz, troca cada
+// <img data-image="nome"> (ou o <picture data-image="nome"> gerado antes)
+// por um <picture> com:
+//   - <source> AVIF e WebP em várias larguras (srcset + sizes)
+//   - <img> JPEG de fallback com width/height explícitos (sem CLS)
+//   - placeholder borrado minúsculo inline (data URI), removido pelo
+//     lazy-images.java quando a imagem carrega
+//   - loading="lazy", ou fetchpriority="high" para a imagem do LCP
+//     (<img data-image="..." data-priority>)
+// Origens:
+//   - Unsplash/imgix (https://images.unsplash.com/...): as variantes são
+//     pedidas ao CDN pelos parâmetros w/h/fm/q, nada é baixado; só o
+//     placeholder precisa de rede.
+//   - Arquivo local (images/src/...): as variantes são geradas em
+//     images/<nome>-<largura>.<formato> com o sharp (npm i -g sharp).
+// Catálogos (data/*.json, ver catalog.java): itens com "image": "nome"
+// (e opcionais imageAlt/imageStyle) ganham o campo "picture" com a mesma
+// marcação, usada pelo molde.
+// A reescrita é idempotente: rodar de novo só atualiza os <picture>.
+// =============================================
+const fs = require('fs');
+const path = require('path');
+
+const ROOT = path.resolve(__dirname, '..');
+const CONFIG = path.join(ROOT, 'images', 'images.json');
+const OUTPUT_DIR = path.join(ROOT, 'images');
+const DATA_DIR = path.join(ROOT, 'data');
+const PLACEHOLDER_WIDTH = 16;
+
+const FORMATS = [
+    { ext: 'avif', type: 'image/avif' },
+    { ext: 'webp', type: 'image/webp' }
+];
+const FALLBACK = 'jpg';
+
+const IMAGE_TAG = /<picture data-image="([\w-]+)">[\s\S]*?(<img\b[^>]*>)[\s\S]*?<\/picture>|<img\b[^>]*\bdata-image="([\w-]+)"[^>]*>/g;
+const PLACEHOLDER_STYLE = /\s*background-image:\s*url\(data:[^)]*\);?/;
+
+// =============================================
+// 1. CONFIGURAÇÃO
+// =============================================
+function loadConfig() {
+    const config = JSON.parse(fs.readFileSync(CONFIG, 'utf8'));
+    const images = {};
+
+    Object.keys(config.images).forEach(name => {
+        const image = Object.assign({}, config.presets[config.images[name].preset], config.images[name]);
+        const [ratioWidth, ratioHeight] = image.aspectRatio;
+        image.name = name;
+        image.heightFor = width => Math.round(width * ratioHeight / ratioWidth);
+        image.remote = /^https?:\/\//.test(image.src);
+        images[name] = image;
+    });
+
+    return { quality: config.quality || 60, images };
+}
+
+// =============================================
+// 2. VARIANTES
+// =============================================
+function cdnUrl(image, width, format, quality) {
+    const url = new URL(image.src);
+    url.search = '';
+    url.searchParams.set('fit', 'crop');
+    url.searchParams.set('w', width);
+    url.searchParams.set('h', image.heightFor(width));
+    url.searchParams.set('fm', format);
+    url.searchParams.set('q', quality);
+    return url.toString();
+}
+
+function localUrl(image, width, format) {
+    return `images/${image.name}-${width}.${format}`;
+}
+
+let sharp;
+function loadSharp() {
+    if (sharp === undefined) {
+        try {
+            sharp = require('sharp');
+        } catch (e) {
+            sharp = null;
+        }
+    }
+    return sharp;
+}
+
+async function encodeLocal(image, quality) {
+    const encoder = loadSharp();
+    if (!encoder) throw new Error(`${image.name}: arquivo local precisa do sharp (npm i -g sharp)`);
+
+    const source = path.join(ROOT, image.src);
+    const sourceMtime = fs.statSync(source).mtimeMs;
+
+    for (const width of image.widths) {
+        for (const format of FORMATS.map(f => f.ext).concat(FALLBACK)) {
+            const output = path.join(ROOT, localUrl(image, width, format));
+            // Incremental: só reencoda se a origem for mais nova
+            if (fs.existsSync(output) && fs.statSync(output).mtimeMs >= sourceMtime) continue;
+
+            await encoder(source)
+                .resize(width, image.heightFor(width), { fit: 'cover' })
+                .toFormat(format === 'jpg' ? 'jpeg' : format, { quality })
+                .toFile(output);
+        }
+    }
+}
+
+async function placeholderFor(image) {
+    const height = image.heightFor(PLACEHOLDER_WIDTH);
+    let data;
+
+    if (image.remote) {
+        const response = await fetch(cdnUrl(image, PLACEHOLDER_WIDTH, 'webp', 30) + '&blur=50');
+        if (!response.ok) throw new Error(`${image.name}: placeholder HTTP ${response.status}`);
+        data = Buffer.from(await response.arrayBuffer());
+    } else {
+        const encoder = loadSharp();
+        if (!encoder) return null;
+        data = await encoder(path.join(ROOT, image.src))
+            .resize(PLACEHOLDER_WIDTH, height, { fit: 'cover' })
+            .blur()
+            .webp({ quality: 30 })
+            .toBuffer();
+    }
+
+    return `data:image/webp;base64,${data.toString('base64')}`;
+}
+
+// =============================================
+// 3. MARCAÇÃO
+// =============================================
+function parseAttributes(tag) {
+    const attributes = new Map();
+    const pattern = /([\w:-]+)(?:="([^"]*)")?/g;
+    const body = tag.replace(/^<img\b/, '').replace(/\/?>$/, '');
+    let match;
+    while ((match = pattern.exec(body))) {
+        attributes.set(match[1], match[2] === undefined ? '' : match[2]);
+    }
+    return attributes;
+}
+
+function renderAttributes(attributes) {
+    return [...attributes]
+        .filter(([, value]) => value !== null)
+        .map(([name, value]) => value === true ? name : `${name}="${value}"`)
+        .join(' ');
+}
+
+function srcset(image, format, quality) {
+    const url = image.remote ? cdnUrl : localUrl;
+    return image.widths.map(width => `${url(image, width, format, quality)} ${width}w`).join(', ');
+}
+
+function renderPicture(image, original, placeholder, quality) {
+    const largest = image.widths[image.widths.length - 1];
+    const priority = original.has('data-priority');
+    const url = image.remote ? cdnUrl : localUrl;
+
+    // Mantém alt/class/style/data-* do autor; o resto é gerado
+    let style = (original.get('style') || '').replace(PLACEHOLDER_STYLE, '').trim();
+    let classes = (original.get('class') || '').split(/\s+/).filter(name => name && name !== 'img-placeholder');
+    if (placeholder) {
+        style = `background-image: url(${placeholder});${style ? ' ' + style : ''}`;
+        classes.push('img-placeholder');
+    }
+
+    const img = new Map([
+        ['data-image', image.name],
+        ['data-priority', priority ? true : null],
+        ['src', url(image, largest, FALLBACK, quality)],
+        ['srcset', srcset(image, FALLBACK, quality)],
+        ['sizes', image.sizes],
+        ['width', String(largest)],
+        ['height', String(image.heightFor(largest))],
+        ['alt', original.get('alt') || ''],
+        ['loading', priority ? 'eager' : 'lazy'],
+        ['fetchpriority', priority ? 'high' : null],
+        ['decoding', 'async'],
+        ['class', classes.length ? classes.join(' ') : null],
+        ['style', style || null]
+    ]);
+
+    const sources = FORMATS.map(format =>
+        `<source type="${format.type}" srcset="${srcset(image, format.ext, quality)}" sizes="${image.sizes}">`
+    ).join('');
+
+    return `<picture data-image="${image.name}">${sources}<img ${renderAttributes(img)}></picture>`;
+}
+
+// Placeholder já presente na página (reaproveitado quando não há rede)
+function existingPlaceholder(attributes) {
+    const match = /url\((data:[^)]*)\)/.exec(attributes.get('style') || '');
+    return match ? match[1] : null;
+}
+
+// =============================================
+// 4. EXECUÇÃO
+// =============================================
+// Placeholder por nome: o da página/do JSON, ou um novo (com rede)
+async function resolvePlaceholder(placeholders, image, existing, options) {
+    if (!placeholders.has(image.name)) {
+        let placeholder = existing;
+        if (options.placeholders) {
+            try {
+                placeholder = await placeholderFor(image);
+            } catch (error) {
+                console.warn(`${image.name}: placeholder mantido (${error.message})`);
+            }
+        }
+        placeholders.set(image.name, placeholder);
+    }
+    return placeholders.get(image.name);
+}
+
+async function processPages(config, options, placeholders) {
+    const pages = fs.readdirSync(ROOT).filter(name => name.endsWith('.html'));
+    const report = [];
+
+    for (const page of pages) {
+        const file = path.join(ROOT, page);
+        const html = fs.readFileSync(file, 'utf8');
+        const found = [];
+        html.replace(IMAGE_TAG, (match, pictureName, pictureImg, imgName) => {
+            found.push({ match, name: pictureName || imgName, img: pictureImg || match });
+            return match;
+        });
+        if (!found.length) continue;
+
+        let result = html;
+        for (const item of found) {
+            const image = config.images[item.name];
+            if (!image) {
+                console.warn(`${page}: data-image="${item.name}" não está em images/images.json`);
+                continue;
+            }
+
+            const original = parseAttributes(item.img);
+            if (!image.remote) await encodeLocal(image, config.quality);
+
+            const placeholder = await resolvePlaceholder(placeholders, image, existingPlaceholder(original), options);
+            result = result.replace(item.match, renderPicture(image, original, placeholder, config.quality));
+        }
+
+        if (result !== html) fs.writeFileSync(file, result);
+        report.push(`${page}: ${found.length} imagem(ns)`);
+    }
+
+    return report;
+}
+
+async function processData(config, options, placeholders) {
+    if (!fs.existsSync(DATA_DIR)) return [];
+    const report = [];
+
+    for (const name of fs.readdirSync(DATA_DIR).filter(file => file.endsWith('.json'))) {
+        const file = path.join(DATA_DIR, name);
+        const source = fs.readFileSync(file, 'utf8');
+        const items = JSON.parse(source);
+        if (!Array.isArray(items)) continue;
+
+        let count = 0;
+        for (const item of items) {
+            if (!item.image) continue;
+            const image = config.images[item.image];
+            if (!image) {
+                console.warn(`data/${name}: image "${item.image}" não está em images/images.json`);
+                continue;
+            }
+
+            // alt e style do <img> vêm do item (imageAlt, imageStyle)
+            const previous = item.picture ? parseAttributes((/<img\b[^>]*>/.exec(item.picture) || [''])[0]) : new Map();
+            const original = new Map([['alt', item.imageAlt || ''], ['style', item.imageStyle || '']]);
+            if (!image.remote) await encodeLocal(image, config.quality);
+
+            const placeholder = await resolvePlaceholder(placeholders, image, existingPlaceholder(previous), options);
+            item.picture = renderPicture(image, original, placeholder, config.quality);
+            count++;
+        }
+        if (!count) continue;
+
+        // Mesma quebra de linha do arquivo original
+        const eol = source.includes('\r\n') ? '\r\n' : '\n';
+        const result = JSON.stringify(items, null, 4).replace(/\n/g, eol) + eol;
+        if (result !== source) fs.writeFileSync(file, result);
+        report.push(`data/${name}: ${count} imagem(ns)`);
+    }
+
+    return report;
+}
+
+async function main() {
+    const options = { placeholders: !process.argv.includes('--no-placeholders') };
+    fs.mkdirSync(OUTPUT_DIR, { recursive: true });
+
+    const config = loadConfig();
+    const placeholders = new Map();
+    const report = (await processPages(config, options, placeholders))
+        .concat(await processData(config, options, placeholders));
+    report.forEach(line => console.log(line));
+}
+
+if (require.main === module) {
+    main().catch(error => {
+        console.error(error.message);
+        process.exitCode = 1;
+    });
+}
+
+module.exports = { loadConfig, renderPicture, parseAttributes, cdnUrl };
@@ -0,0 +1,290 @@
+// Elliot Project - Minificação de HTML, CSS e JS (usada pelo tools/build.java)
+// =============================================
+// Minificadores conservadores, sem dependências:
+//   - CSS: remove comentários e espaços em volta de { } ; , : >
+//   - JS: remove comentários, indentação e linhas vazias; mantém as quebras
+//     de linha necessárias para a inserção automática de ponto e vírgula e
+//     não renomeia nada (os scripts compartilham globais entre arquivos)
+//   - HTML: remove comentários, colapsa espaços (fora de <pre>/<textarea>)
+//     e minifica os <style> e <script> inline
+// Strings, template literals e regex literais nunca são tocados.
+// Se o esbuild estiver instalado (npm i -g esbuild), o JS passa por ele.
+// Todo JS minificado é compilado (vm.Script) antes de ser aceito; se não
+// compilar, o original é mantido e um aviso é emitido.
+// =============================================
+const vm = require('vm');
+
+// =============================================
+// 1. CSS
+// =============================================
+function minifyCss(css) {
+    let out = '';
+    let i = 0;
+
+    while (i < css.length) {
+        const ch = css[i];
+
+        if (ch === '/' && css[i + 1] === '*') {
+            const end = css.indexOf('*/', i + 2);
+            i = end === -1 ? css.length : end + 2;
+            out += ' ';
+        } else if (ch === '"' || ch === "'") {
+            let j = i + 1;
+            while (j < css.length && css[j] !== ch) j += css[j] === '\\' ? 2 : 1;
+            out += css.slice(i, j + 1);
+            i = j + 1;
+        } else if (/\s/.test(ch)) {
+            while (i < css.length && /\s/.test(css[i])) i++;
+            out += ' ';
+        } else {
+            out += ch;
+            i++;
+        }
+    }
+
+    return splitCssStrings(out)
+        .map((part, index) => index % 2 ? part : part
+            .replace(/ ?([{};,>]) ?/g, '$1')
+            .replace(/: /g, ':')
+            .replace(/ +/g, ' '))
+        .join('')
+        .replace(/;}/g, '}')
+        .trim();
+}
+
+// Alterna [código, string, código, string, ...] para não mexer nas strings
+function splitCssStrings(css) {
+    const parts = [];
+    let start = 0;
+    let i = 0;
+    while (i < css.length) {
+        const ch = css[i];
+        if (ch === '"' || ch === "'") {
+            let j = i + 1;
+            while (j < css.length && css[j] !== ch) j += css[j] === '\\' ? 2 : 1;
+            parts.push(css.slice(start, i), css.slice(i, j + 1));
+            start = i = j + 1;
+        } else {
+            i++;
+        }
+    }
+    parts.push(css.slice(start));
+    return parts;
+}
+
+// =============================================
+// 2. JS
+// =============================================
+const WORD = /[\w$#\u0080-\uffff]/;
+const REGEX_AFTER_CHAR = new Set('(,=:[!&|?{};+-*%<>~^'.split(''));
+const REGEX_AFTER_WORD = new Set(['return', 'typeof', 'case', 'do', 'else', 'in', 'of', 'new', 'delete', 'void', 'throw', 'yield', 'await', 'instanceof']);
+// Quebras de linha descartáveis: depois destes caracteres, ou antes destes
+const NO_BREAK_AFTER = new Set('{[(,;'.split(''));
+const NO_BREAK_BEFORE = new Set('}]),;.'.split(''));
+
+function stripJs(source) {
+    const n = source.length;
+    let out = '';
+    let i = 0;
+    let pending = ''; // '', ' ' ou '\n'
+
+    function lastWord() {
+        const match = /[\w$]+$/.exec(out);
+        return match ? match[0] : '';
+    }
+
+    function regexAllowed() {
+        const prev = out[out.length - 1];
+        return prev === undefined || REGEX_AFTER_CHAR.has(prev) || REGEX_AFTER_WORD.has(lastWord());
+    }
+
+    function emit(text) {
+        const prev = out[out.length - 1];
+        const next = text[0];
+        if (pending && prev !== undefined) {
+            if (pending === '\n') {
+                if (!NO_BREAK_AFTER.has(prev) && !NO_BREAK_BEFORE.has(next)) out += '\n';
+                else if (WORD.test(prev) && WORD.test(next)) out += ' ';
+            } else if ((WORD.test(prev) && WORD.test(next)) ||
+                (prev === next && (prev === '+' || prev === '-')) ||
+                (/\d/.test(prev) && next === '.')) {
+                out += ' ';
+            }
+        }
+        pending = '';
+        out += text;
+    }
+
+    function readQuoted(quote) {
+        let j = i + 1;
+        while (j < n && source[j] !== quote) {
+            if (source[j] === '\\') j++;
+            j++;
+        }
+        return source.slice(i, j + 1);
+    }
+
+    function readRegex() {
+        let j = i + 1;
+        let inClass = false;
+        while (j < n) {
+            const ch = source[j];
+            if (ch === '\\') j++;
+            else if (ch === '[') inClass = true;
+            else if (ch === ']') inClass = false;
+            else if (ch === '/' && !inClass) break;
+            j++;
+        }
+        j++;
+        while (j < n && /[a-z]/i.test(source[j])) j++;
+        return source.slice(i, j);
+    }
+
+    // Template literal: o texto é mantido; ${...} é código e é minificado
+    function readTemplate() {
+        let text = '`';
+        i++;
+        while (i < n && source[i] !== '`') {
+            if (source[i] === '\\') {
+                text += source.slice(i, i + 2);
+                i += 2;
+            } else if (source[i] === '$' && source[i + 1] === '{') {
+                text += '${';
+                i += 2;
+                const saved = [out, pending];
+                out = '';
+                pending = '';
+                code(true);
+                text += out + '}';
+                [out, pending] = saved;
+                i++;
+            } else {
+                text += source[i++];
+            }
+        }
+        i++;
+        return text + '`';
+    }
+
+    // Lê código até o fim (ou até a } que fecha um ${ quando insideTemplate)
+    function code(insideTemplate) {
+        let depth = 0;
+        while (i < n) {
+            const ch = source[i];
+            const next = source[i + 1];
+
+            if (ch === '/' && next === '/') {
+                while (i < n && source[i] !== '\n') i++;
+            } else if (ch === '/' && next === '*') {
+                const end = source.indexOf('*/', i + 2);
+                const comment = source.slice(i, end === -1 ? n : end);
+                i = end === -1 ? n : end + 2;
+                if (!pending) pending = comment.includes('\n') ? '\n' : ' ';
+            } else if (ch === '\n' || ch === '\r') {
+                pending = '\n';
+                i++;
+            } else if (ch === ' ' || ch === '\t') {
+                if (!pending) pending = ' ';
+                i++;
+            } else if (ch === '"' || ch === "'") {
+                const literal = readQuoted(ch);
+                emit(literal);
+                i += literal.length;
+            } else if (ch === '`') {
+                emit(readTemplate());
+            } else if (ch === '/' && regexAllowed()) {
+                const literal = readRegex();
+                emit(literal);
+                i += literal.length;
+            } else {
+                if (insideTemplate) {
+                    if (ch === '{') depth++;
+                    if (ch === '}' && depth-- === 0) return;
+                }
+                emit(ch);
+                i++;
+            }
+        }
+    }
+
+    code(false);
+    return out.trim() + '\n';
+}
+
+let esbuild;
+function loadEsbuild() {
+    if (esbuild === undefined) {
+        try {
+            esbuild = require('esbuild');
+        } catch (e) {
+            esbuild = null;
+        }
+    }
+    return esbuild;
+}
+
+function compiles(code) {
+    try {
+        new vm.Script(code);
+        return true;
+    } catch (e) {
+        return false;
+    }
+}
+
+function minifyJs(source, name = 'script') {
+    let result;
+    const minifier = loadEsbuild();
+
+    if (minifier) {
+        // Sem format: o esbuild não renomeia os nomes globais
+        result = minifier.transformSync(source, { minify: true, loader: 'js', legalComments: 'none' }).code;
+    } else {
+        result = stripJs(source);
+    }
+
+    if (!compiles(result) && compiles(source)) {
+        console.warn(`${name}: minificação não compilou, mantido o original`);
+        return source;
+    }
+    return result;
+}
+
+// =============================================
+// 3. HTML
+// =============================================
+const RAW_BLOCK = /<(pre|textarea|script|style)\b([^>]*)>([\s\S]*?)<\/\1>/gi;
+
+function minifyBlock(tag, attributes, content, name) {
+    if (tag === 'style') return minifyCss(content);
+    if (tag !== 'script' || /\ssrc=/.test(attributes) || !content.trim()) return content;
+
+    const type = (/\stype="([^"]*)"/.exec(attributes) || [])[1];
+    if (!type || type === 'module' || type === 'text/javascript') return minifyJs(content, `${name} (<script> inline)`).trim();
+    // JSON (speculationrules, importmap, ld+json...)
+    try {
+        return JSON.stringify(JSON.parse(content));
+    } catch (e) {
+        return content;
+    }
+}
+
+function minifyHtml(html, name = 'página') {
+    const blocks = [];
+
+    // Blocos crus saem do caminho e voltam já minificados
+    let result = html.replace(RAW_BLOCK, (match, tag, attributes, content) => {
+        const lower = tag.toLowerCase();
+        blocks.push(`<${tag}${attributes}>${minifyBlock(lower, attributes, content, name)}</${tag}>`);
+        return `\u0000${blocks.length - 1}\u0000`;
+    });
+
+    result = result
+        .replace(/<!--(?!\[if)[\s\S]*?-->/g, '')
+        .replace(/[ \t]*\r?\n\s*/g, '\n')
+        .replace(/[ \t]+/g, ' ');
+
+    return result.replace(/\u0000(\d+)\u0000/g, (match, index) => blocks[index]).trim();
+}
+
+module.exports = { minifyCss, minifyJs, minifyHtml, stripJs };
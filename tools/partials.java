@@ -0,0 +1,149 @@
+// Elliot Project - Trechos compartilhados entre as páginas (partials/)
+// Uso: node tools/partials.java
+// =============================================
+// As páginas continuam sendo HTML servível como está; os trechos repetidos
+// (fontes, navbar, rodapé, scripts) ficam entre marcadores e são gerados a
+// partir de partials/<nome>.html:
+//   <!-- @partial navbar href="index.html" icon="fa-brain" brand="Elliot" accent="Tecnologia" -->
+//   ...gerado...
+//   <!-- /@partial -->
+// No template:
+//   {{nome}}                 valor do atributo no marcador
+//   {{?nome}}...{{/nome}}    só entra se o atributo existir e não for vazio
+//                            (a linha que ficar vazia some)
+//   {{slot}}                 conteúdo próprio da página (ex.: os links da
+//                            navbar), guardado entre <!-- @slot --> e
+//                            <!-- /@slot --> e preservado a cada expansão
+// Este script reescreve as páginas da raiz; o tools/build.java expande as
+// mesmas regiões em memória, então dist/ nunca fica desatualizado.
+// =============================================
+const fs = require('fs');
+const path = require('path');
+const { versionPage } = require('./hash-assets.java');
+
+const ROOT = path.resolve(__dirname, '..');
+const PARTIALS_DIR = path.join(ROOT, 'partials');
+
+const REGION = /^([ \t]*)<!-- @partial ([\w-]+)((?:\s+[\w-]+="[^"]*")*)\s*-->\n[\s\S]*?^[ \t]*<!-- \/@partial -->/gm;
+const SLOT = /^[ \t]*<!-- @slot -->\n([\s\S]*?)^[ \t]*<!-- \/@slot -->/m;
+const ATTRIBUTE = /([\w-]+)="([^"]*)"/g;
+
+const templateCache = new Map();
+
+function loadTemplate(name) {
+    if (!templateCache.has(name)) {
+        const file = path.join(PARTIALS_DIR, `${name}.html`);
+        if (!fs.existsSync(file)) throw new Error(`partial "${name}" não existe (partials/${name}.html)`);
+        templateCache.set(name, fs.readFileSync(file, 'utf8').replace(/\r\n/g, '\n').replace(/\n+$/, ''));
+    }
+    return templateCache.get(name);
+}
+
+function parseParams(text) {
+    const params = {};
+    let match;
+    ATTRIBUTE.lastIndex = 0;
+    while ((match = ATTRIBUTE.exec(text))) params[match[1]] = match[2];
+    return params;
+}
+
+// =============================================
+// 1. TEMPLATE
+// =============================================
+function render(template, params, slot, indent) {
+    const lines = [];
+
+    template.split('\n').forEach(line => {
+        const slotLine = /^([ \t]*)\{\{slot\}\}$/.exec(line);
+        if (slotLine) {
+            const slotIndent = indent + slotLine[1];
+            lines.push(`${slotIndent}<!-- @slot -->`);
+            if (slot) lines.push(slot.replace(/\n$/, ''));
+            lines.push(`${slotIndent}<!-- /@slot -->`);
+            return;
+        }
+
+        const rendered = line
+            .replace(/\{\{\?([\w-]+)\}\}([\s\S]*?)\{\{\/\1\}\}/g, (match, name, body) => params[name] ? body : '')
+            .replace(/\{\{([\w-]+)\}\}/g, (match, name) => {
+                if (!(name in params)) throw new Error(`atributo "${name}" ausente`);
+                return params[name];
+            });
+
+        // Linha que só tinha um bloco condicional ausente desaparece
+        if (!rendered.trim() && line.trim()) return;
+        lines.push(rendered.trim() ? indent + rendered : '');
+    });
+
+    return lines.join('\n');
+}
+
+// Expande todas as regiões de uma página (texto com \n). Retorna o HTML e os
+// nomes dos partials usados.
+function expand(html) {
+    const used = new Set();
+
+    const result = html.replace(REGION, (region, indent, name, attributes) => {
+        const slotMatch = SLOT.exec(region);
+        const params = parseParams(attributes);
+        used.add(name);
+
+        let body;
+        try {
+            body = render(loadTemplate(name), params, slotMatch ? slotMatch[1] : '', indent);
+        } catch (error) {
+            throw new Error(`@partial ${name}: ${error.message}`);
+        }
+        return `${indent}<!-- @partial ${name}${attributes} -->\n${body}\n${indent}<!-- /@partial -->`;
+    });
+
+    return { html: result, partials: [...used] };
+}
+
+// Mesmo que expand(), preservando o fim de linha original do arquivo
+function expandPage(source) {
+    const crlf = source.includes('\r\n');
+    const { html, partials } = expand(source.replace(/\r\n/g, '\n'));
+    return { html: crlf ? html.replace(/\n/g, '\r\n') : html, partials };
+}
+
+function partialNames() {
+    if (!fs.existsSync(PARTIALS_DIR)) return [];
+    return fs.readdirSync(PARTIALS_DIR)
+        .filter(name => name.endsWith('.html'))
+        .map(name => path.basename(name, '.html'))
+        .sort();
+}
+
+// =============================================
+// 2. EXECUÇÃO
+// =============================================
+function main() {
+    const pages = fs.readdirSync(ROOT).filter(name => name.endsWith('.html'));
+
+    pages.forEach(name => {
+        const file = path.join(ROOT, name);
+        const source = fs.readFileSync(file, 'utf8');
+        const { html, partials } = expandPage(source);
+
+        let changed = false;
+        if (html !== source) {
+            fs.writeFileSync(file, html);
+            // O template traz as URLs sem ?v=: versiona de novo
+            versionPage(file);
+            changed = fs.readFileSync(file, 'utf8') !== source;
+        }
+        console.log(`${name}: ${partials.length ? partials.join(', ') : 'nenhum partial'}${changed ? ' (atualizada)' : ''}`);
+    });
+}
+
+if (require.main === module) {
+    try {
+        main();
+    } catch (error) {
+        console.error(error.message);
+        process.exitCode = 1;
+    }
+}
+
+module.exports = { expand, expandPage, partialNames, PARTIALS_DIR };
@@ -0,0 +1,99 @@
+// Elliot Project - Gerador do manifesto de precache do service worker
+// Uso: node tools/precache-manifest.java (depois de tools/hash-assets.java)
+// =============================================
+// Gera precache-manifest.java com as páginas, as folhas de estilo, os scripts
+// e os dados dos catálogos, cada um com a revisão (hash de conteúdo). Os
+// scripts entram com a mesma URL versionada (?v=<hash>) que as páginas
+// referenciam.
+// Como o sw.java importa este arquivo, qualquer mudança de conteúdo muda
+// o manifesto e faz o navegador instalar uma nova versão do service worker.
+// =============================================
+const fs = require('fs');
+const path = require('path');
+const crypto = require('crypto');
+const { contentHash } = require('./hash-assets.java');
+
+const ROOT = path.resolve(__dirname, '..');
+const OUTPUT = path.join(ROOT, 'precache-manifest.java');
+const SEARCH_INDEX = 'search-index.json';
+const DATA_DIR = 'data';
+
+const PAGES = [
+    'index.html',
+    'games.html',
+    'nexus.html',
+    'tecnologia.html',
+    'animes.html',
+    'criancas.html'
+];
+
+// Arquivos que não são carregados pelas páginas
+const EXCLUDED = new Set(['sw.java', 'precache-manifest.java']);
+
+// data/*.json, com o caminho relativo à raiz
+function dataFiles() {
+    const dir = path.join(ROOT, DATA_DIR);
+    if (!fs.existsSync(dir)) return [];
+    return fs.readdirSync(dir)
+        .filter(name => name.endsWith('.json'))
+        .sort()
+        .map(name => `${DATA_DIR}/${name}`);
+}
+
+function collectEntries() {
+    const entries = PAGES.map(page => ({
+        url: page,
+        revision: contentHash(path.join(ROOT, page))
+    }));
+
+    const versioned = name => {
+        const revision = contentHash(path.join(ROOT, name));
+        return { url: `${name}?v=${revision}`, revision };
+    };
+
+    fs.readdirSync(ROOT)
+        .filter(name => name.endsWith('.css'))
+        .sort()
+        .forEach(name => entries.push(versioned(name)));
+
+    // Índice da busca (tools/search-index.java), pedido sem ?v= pelo worker
+    if (fs.existsSync(path.join(ROOT, SEARCH_INDEX))) {
+        entries.push({ url: SEARCH_INDEX, revision: contentHash(path.join(ROOT, SEARCH_INDEX)) });
+    }
+
+    // Catálogos (catalog.java), também pedidos sem ?v=
+    dataFiles().forEach(name => entries.push({ url: name, revision: contentHash(path.join(ROOT, name)) }));
+
+    fs.readdirSync(ROOT)
+        .filter(name => name.endsWith('.java') && !EXCLUDED.has(name))
+        .sort()
+        .forEach(name => entries.push(versioned(name)));
+
+    return entries;
+}
+
+// Também usado pelo tools/build.java, com as entradas de dist/
+function renderManifest(entries) {
+    const version = crypto.createHash('sha256')
+        .update(JSON.stringify(entries))
+        .digest('hex')
+        .slice(0, 10);
+
+    return '// Gerado por tools/precache-manifest.java - não editar\n' +
+        `self.__PRECACHE_MANIFEST = ${JSON.stringify({ version, entries }, null, 4)};\n`;
+}
+
+function main() {
+    const entries = collectEntries();
+    const source = renderManifest(entries);
+    const version = /"version": "(\w+)"/.exec(source)[1];
+
+    fs.writeFileSync(OUTPUT, source.replace(/\n/g, '\r\n'));
+    console.log(`precache-manifest.java: ${entries.length} entradas (versão ${version})`);
+}
+
+if (require.main === module) {
+    main();
+}
+
+module.exports = { collectEntries, renderManifest, dataFiles };
@@ -0,0 +1,139 @@
+// Elliot Project - Gerador do índice de busca entre páginas
+// Uso: node tools/search-index.java
+// =============================================
+// Extrai os cards de nexus.html e games.html e os itens dos catálogos
+// (data/*.json, renderizados pelo catalog.java) e grava search-index.json
+// já indexado (tokens ordenados + postings, ver search-core.java). O worker
+// só carrega o JSON: nada é processado no navegador. Cada resultado aponta
+// para a página: itens de catálogo pelo #id (o catalog.java renderiza até
+// ele), cards do HTML por um fragmento de texto (#:~:text=).
+// =============================================
+const fs = require('fs');
+const path = require('path');
+const SearchCore = require('../search-core.java');
+
+const ROOT = path.resolve(__dirname, '..');
+const OUTPUT = path.join(ROOT, 'search-index.json');
+const EXCERPT_LENGTH = 140;
+
+// item: classe do card; title: classe do título; excerpt: classe do resumo
+const SOURCES = [
+    { page: 'nexus.html', item: 'character-card', title: 'character-name', excerpt: 'character-source' },
+    { page: 'games.html', item: 'game-card', title: 'game-name', excerpt: 'game-desc' }
+];
+
+// Catálogos: data = arquivo; group = só os itens do grupo; fields = campos
+// indexados (o primeiro é o título, excerpt é o resumo)
+const CATALOGS = [
+    { page: 'animes.html', data: 'data/animes.json', fields: ['title', 'genre', 'description', 'impact'], excerpt: 'description' },
+    { page: 'nexus.html', data: 'data/games.json', group: 'capas', fields: ['title', 'lessons', 'reflection', 'truth'], excerpt: 'lessons' }
+];
+
+const ENTITIES = { amp: '&', lt: '<', gt: '>', quot: '"', '#39': "'", nbsp: ' ' };
+
+function decodeEntities(text) {
+    return text.replace(/&(amp|lt|gt|quot|#39|nbsp);/g, (match, name) => ENTITIES[name]);
+}
+
+function toText(html) {
+    return decodeEntities(html
+        .replace(/<(script|style)[\s\S]*?<\/\1>/gi, ' ')
+        .replace(/<br\s*\/?>/gi, ' ')
+        .replace(/<[^>]+>/g, ' '))
+        .replace(/\s+/g, ' ')
+        .trim();
+}
+
+// Elementos com a classe, com o HTML interno completo (tags aninhadas balanceadas)
+function elementsWithClass(html, className) {
+    const blocks = [];
+    const opening = new RegExp(`<([a-z0-9]+)\\b[^>]*\\bclass="(?:[^"]*\\s)?${className}(?:\\s[^"]*)?"[^>]*>`, 'gi');
+    let match;
+
+    while ((match = opening.exec(html))) {
+        const tag = match[1].toLowerCase();
+        const tagPattern = new RegExp(`<(/?)${tag}\\b[^>]*>`, 'gi');
+        tagPattern.lastIndex = opening.lastIndex;
+        let depth = 1;
+        let inner;
+        let tagMatch;
+
+        while (depth && (tagMatch = tagPattern.exec(html))) {
+            depth += tagMatch[1] ? -1 : 1;
+            if (!depth) inner = html.slice(opening.lastIndex, tagMatch.index);
+        }
+        if (inner === undefined) break;
+
+        blocks.push(inner);
+        opening.lastIndex = tagPattern.lastIndex;
+    }
+    return blocks;
+}
+
+function firstText(html, className) {
+    const block = elementsWithClass(html, className)[0];
+    return block === undefined ? '' : toText(block);
+}
+
+function excerpt(text) {
+    if (text.length <= EXCERPT_LENGTH) return text;
+    return text.slice(0, text.lastIndexOf(' ', EXCERPT_LENGTH)) + '…';
+}
+
+function collectDocs() {
+    const pages = new Map();
+    const docs = [];
+
+    SOURCES.forEach(source => {
+        if (!pages.has(source.page)) {
+            pages.set(source.page, fs.readFileSync(path.join(ROOT, source.page), 'utf8'));
+        }
+
+        elementsWithClass(pages.get(source.page), source.item).forEach(block => {
+            const title = firstText(block, source.title);
+            if (!title) return;
+
+            docs.push({
+                url: `${source.page}#:~:text=${encodeURIComponent(title)}`,
+                title,
+                excerpt: excerpt(firstText(block, source.excerpt)),
+                text: toText(block)
+            });
+        });
+    });
+
+    CATALOGS.forEach(catalog => {
+        const items = JSON.parse(fs.readFileSync(path.join(ROOT, catalog.data), 'utf8'));
+
+        items.filter(item => !catalog.group || item.group === catalog.group).forEach(item => {
+            if (!item.id || !item.title) return;
+
+            docs.push({
+                url: `${catalog.page}#${item.id}`,
+                title: item.title,
+                excerpt: excerpt(item[catalog.excerpt] || ''),
+                text: catalog.fields.map(field => item[field] || '').join(' ')
+            });
+        });
+    });
+
+    return docs;
+}
+
+function main() {
+    const docs = collectDocs();
+    const index = SearchCore.buildIndex(docs);
+
+    // O texto completo só serve para indexar; o navegador recebe só os metadados
+    index.docs = docs.map(doc => ({ url: doc.url, title: doc.title, excerpt: doc.excerpt }));
+
+    fs.writeFileSync(OUTPUT, JSON.stringify(index));
+    console.log(`search-index.json: ${docs.length} documento(s), ${index.tokens.length} token(s), ` +
+        `${(fs.statSync(OUTPUT).size / 1024).toFixed(1)} KB`);
+}
+
+if (require.main === module) {
+    main();
+}
+
+module.exports = { collectDocs, elementsWithClass };
@@ -0,0 +1,132 @@
+// Elliot Project - Servidor estático local
+// Uso: node tools/serve.java [porta] [diretório]
+// =============================================
+// Serve as páginas e assets da raiz do projeto. Os scripts do projeto usam
+// a extensão .java, então são enviados como text/javascript (necessário
+// para o service worker, importScripts e Web Workers).
+// URLs versionadas (?v=<hash>) e nomes com hash (events.<hash>.java, do
+// tools/build.java) recebem cache imutável de 1 ano; o resto é revalidado a
+// cada requisição.
+// Se existir um irmão pré-comprimido (arquivo.br / arquivo.gz) e o
+// navegador aceitar a codificação, ele é enviado no lugar do original.
+// =============================================
+const http = require('http');
+const fs = require('fs');
+const path = require('path');
+
+const MIME_TYPES = {
+    '.html': 'text/html; charset=utf-8',
+    '.css': 'text/css; charset=utf-8',
+    '.java': 'text/javascript; charset=utf-8',
+    '.js': 'text/javascript; charset=utf-8',
+    '.json': 'application/json; charset=utf-8',
+    '.svg': 'image/svg+xml',
+    '.png': 'image/png',
+    '.jpg': 'image/jpeg',
+    '.jpeg': 'image/jpeg',
+    '.webp': 'image/webp',
+    '.avif': 'image/avif',
+    '.woff2': 'font/woff2',
+    '.ico': 'image/x-icon'
+};
+
+const IMMUTABLE = 'public, max-age=31536000, immutable';
+const REVALIDATE = 'no-cache';
+const HASHED_NAME = /\.[0-9a-f]{10}\.(java|css)$/;
+
+// Em ordem de preferência
+const ENCODINGS = [
+    { name: 'br', ext: '.br' },
+    { name: 'gzip', ext: '.gz' }
+];
+
+function precompressed(file, acceptEncoding, callback) {
+    const accepted = ENCODINGS.filter(encoding => new RegExp(`\\b${encoding.name}\\b`).test(acceptEncoding || ''));
+
+    (function tryNext(index) {
+        if (index >= accepted.length) {
+            callback(null);
+            return;
+        }
+        fs.stat(file + accepted[index].ext, (err, stat) => {
+            if (err || !stat.isFile()) tryNext(index + 1);
+            else callback({ encoding: accepted[index].name, file: file + accepted[index].ext, stat });
+        });
+    })(0);
+}
+
+// Handler (req, res) dos arquivos estáticos; tools/collector.java o reusa
+function createHandler(root, options = {}) {
+    const rootDir = path.resolve(root);
+
+    return (req, res) => {
+        const url = new URL(req.url, 'http://localhost');
+        let pathname = decodeURIComponent(url.pathname);
+        if (pathname.endsWith('/')) pathname += 'index.html';
+
+        const file = path.join(rootDir, pathname);
+        if (!file.startsWith(rootDir + path.sep)) {
+            res.writeHead(403);
+            res.end();
+            return;
+        }
+
+        fs.stat(file, (err, stat) => {
+            if (err || !stat.isFile()) {
+                res.writeHead(404, { 'Content-Type': 'text/plain; charset=utf-8' });
+                res.end('Não encontrado');
+                return;
+            }
+
+            const immutable = url.searchParams.has('v') || HASHED_NAME.test(pathname);
+            const headers = {
+                'Content-Type': MIME_TYPES[path.extname(file)] || 'application/octet-stream',
+                'Content-Length': stat.size,
+                'Cache-Control': immutable ? IMMUTABLE : REVALIDATE,
+                'Last-Modified': stat.mtime.toUTCString()
+            };
+            if (options.headers) Object.assign(headers, options.headers(pathname));
+
+            if (req.headers['if-modified-since'] === headers['Last-Modified']) {
+                res.writeHead(304, headers);
+                res.end();
+                return;
+            }
+
+            precompressed(file, req.headers['accept-encoding'], variant => {
+                let body = file;
+                if (variant) {
+                    body = variant.file;
+                    headers['Content-Encoding'] = variant.encoding;
+                    headers['Content-Length'] = variant.stat.size;
+                }
+                // Mesmo sem variante, a resposta depende do Accept-Encoding
+                if (variant || fs.existsSync(file + '.br') || fs.existsSync(file + '.gz')) {
+                    headers['Vary'] = 'Accept-Encoding';
+                }
+
+                res.writeHead(200, headers);
+                if (req.method === 'HEAD') {
+                    res.end();
+                    return;
+                }
+                fs.createReadStream(body).pipe(res);
+            });
+        });
+    };
+}
+
+function createServer(root, options = {}) {
+    return http.createServer(createHandler(root, options));
+}
+
+if (require.main === module) {
+    const port = Number(process.argv[2]) || 8080;
+    const root = process.argv[3] || path.resolve(__dirname, '..');
+
+    createServer(root).listen(port, () => {
+        console.log(`Servindo ${root} em http://localhost:${port}/`);
+    });
+}
+
+module.exports = { createServer, createHandler, MIME_TYPES };
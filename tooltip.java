@@ -0,0 +1,105 @@
+// Elliot Project - Tooltip único reaproveitado
+// Depende de: events.java
+// =============================================
+// Um só elemento .tooltip para a página inteira, criado no primeiro uso.
+// Mostrar/esconder é só trocar texto e classe; a posição vai em transform
+// (composição, sem layout). O translateY(-100%) coloca o tooltip acima do
+// alvo sem medir o próprio tooltip.
+// A posição do alvo é medida uma vez por um IntersectionObserver (que
+// entrega o retângulo sem forçar layout) e fica em cache até algo poder
+// tê-la mudado: o alvo muda de tamanho, a janela muda, o body muda de
+// altura (seções com content-visibility, imagens), uma fatia do catálogo
+// entra (catalog.java) ou uma fonte termina de carregar.
+// =============================================
+const Tooltip = (function() {
+    const GAP = 10;
+
+    let element = null;
+    let current = null;
+    let rects = new WeakMap();
+    let measureObserver = null;
+    let resizeObserver = null;
+
+    function invalidateAll() {
+        rects = new WeakMap();
+    }
+
+    function createElement() {
+        element = document.createElement('div');
+        element.className = 'tooltip';
+        element.setAttribute('role', 'tooltip');
+        document.body.appendChild(element);
+
+        // Retângulo em coordenadas do documento: continua válido ao rolar
+        measureObserver = new IntersectionObserver(entries => {
+            entries.forEach(entry => {
+                const rect = entry.boundingClientRect;
+                rects.set(entry.target, {
+                    left: rect.left + window.scrollX,
+                    top: rect.top + window.scrollY,
+                    width: rect.width,
+                    height: rect.height
+                });
+                measureObserver.unobserve(entry.target);
+                if (entry.target === current) place(entry.target);
+            });
+        });
+
+        if ('ResizeObserver' in window) {
+            resizeObserver = new ResizeObserver(entries => {
+                entries.forEach(entry => {
+                    const cached = rects.get(entry.target);
+                    const box = entry.borderBoxSize && entry.borderBoxSize[0];
+                    // A primeira notificação (ao observar) não muda nada
+                    if (cached && box && box.inlineSize === cached.width && box.blockSize === cached.height) return;
+                    rects.delete(entry.target);
+                });
+            });
+
+            // Conteúdo acima do alvo mudou de altura: o alvo se moveu sem
+            // mudar de tamanho
+            new ResizeObserver(invalidateAll).observe(document.body);
+        }
+
+        window.addEventListener('resize', invalidateAll, { passive: true });
+        EventRouter.on('catalog:chunk', '[data-catalog]', invalidateAll);
+        if (document.fonts) document.fonts.addEventListener('loadingdone', invalidateAll);
+    }
+
+    function place(target) {
+        const rect = rects.get(target);
+        element.style.transform = `translate3d(${rect.left}px, ${rect.top - GAP}px, 0) translateY(-100%)`;
+        element.classList.add('visible');
+    }
+
+    function show(target) {
+        if (!element) createElement();
+        current = target;
+
+        const text = target.getAttribute('data-tooltip');
+        if (element.textContent !== text) element.textContent = text;
+
+        if (rects.has(target)) {
+            place(target);
+        } else {
+            if (resizeObserver) resizeObserver.observe(target);
+            measureObserver.observe(target);
+        }
+    }
+
+    function hide(target) {
+        if (target !== current) return;
+        current = null;
+        element.classList.remove('visible');
+    }
+
+    // Delegado: funciona também para elementos adicionados depois
+    function attach(selector = '[data-tooltip]') {
+        EventRouter.on('enter', selector, (event, target) => show(target));
+        EventRouter.on('leave', selector, (event, target) => hide(target));
+    }
+
+    return {
+        attach
+    };
+})();
@@ -1,117 +1,343 @@
 // YASUKETV - Sistema de Navegação e Efeitos Visuais
 // Versão focada em conteúdo sem sistema de edição
+// Depende de: events.java, reveal.java, search.java, facets.java, tooltip.java, lazy-images.java,
+//             catalog.java, features.java, quality.java, lifecycle.java
+// Estilos: yasuke-style.css
 
 // Inicializar quando o DOM estiver carregado
 document.addEventListener('DOMContentLoaded', function() {
     initializeApp();
 });
 
+// Por prioridade (features.java): o reveal roda já (marca os itens antes da
+// pintura); o resto vai para segundo plano ou espera o usuário chegar perto
 function initializeApp() {
-    // Configurar navegação suave
-    setupSmoothNavigation();
-    
+    const initStart = performance.now();
+
     // Configurar sistema de revelação ao scroll
-    setupScrollReveal();
-    
-    // Configurar modal de vídeos do YouTube
-    setupVideoModal();
-    
-    console.log('🎌 YASUKETV Pergaminho - Carregado!');
+    Features.register('scroll-reveal', setupScrollReveal, { priority: 'critical' });
+
+    // Visíveis, mas não críticos
+    Features.register('video-posters', setupVideoPosters, { priority: 'visible' });
+    Features.register('progressive-images', setupProgressiveLoading, { priority: 'visible' });
+    Features.register('view-counters', setupViewCounters, { priority: 'visible' });
+
+    // Só na interação (ponteiro, toque ou foco nos elementos)
+    Features.register('smooth-navigation', setupSmoothNavigation, { priority: 'interaction', selector: '.nav-scroll' });
+    Features.register('video-modal', setupVideoModal, { priority: 'interaction', selector: '.youtube-card' });
+    Features.register('hover-effects', setupHoverEffects, { priority: 'interaction', selector: '.youtube-card' });
+    Features.register('tooltips', setupTooltips, { priority: 'interaction', selector: '[data-tooltip]' });
+    Features.register('filters', setupSimpleFilters, { priority: 'interaction', selector: '[data-filter]' });
+    Features.register('quick-search', setupQuickSearch, { priority: 'interaction', selector: '#searchInput' });
+
+    // Custo da parte síncrona (telemetry.java, se presente)
+    if (typeof Telemetry !== 'undefined') Telemetry.measure('app-init', initStart);
 }
 
 // Sistema de Navegação Suave
+// Delegado (events.java); o deslocamento vem do scroll-padding-top do CSS
 function setupSmoothNavigation() {
-    document.querySelectorAll('.nav-scroll').forEach(anchor => {
-        anchor.addEventListener('click', function(e) {
-            e.preventDefault();
-            const targetId = this.getAttribute('href');
+    EventRouter.on('click', '.nav-scroll', function(e) {
+        e.preventDefault();
+        const targetId = this.getAttribute('href');
+        
+        // Verificar se é um link interno
+        if (targetId.startsWith('#')) {
+            const targetElement = document.querySelector(targetId);
             
-            // Verificar se é um link interno
-            if (targetId.startsWith('#')) {
-                const targetElement = document.querySelector(targetId);
-                
-                if (targetElement) {
-                    window.scrollTo({
-                        top: targetElement.offsetTop - 20,
-                        behavior: 'smooth'
-                    });
-                }
-            } else {
-                // Link externo - comportamento normal
-                window.location.href = targetId;
+            if (targetElement) {
+                targetElement.scrollIntoView();
             }
-        });
+        } else {
+            // Link externo - comportamento normal
+            window.location.href = targetId;
+        }
     });
 }
 
-// Sistema de Revelação ao Scroll
+// Sistema de Revelação ao Scroll (reveal.java)
+// Cards renderizados pelo catalog.java entram a cada fatia
+const REVEAL_SELECTOR = '.scroll-item, .youtube-card, .gallery-item, .criterion';
+const REVEAL_OPTIONS = {
+    initialClass: 'reveal',
+    className: 'revealed',
+    threshold: 0.1,
+    rootMargin: '0px 0px -50px 0px',
+    // Delay progressivo para itens de lista
+    stagger: element => element.classList.contains('scroll-item')
+};
+
 function setupScrollReveal() {
-    const observerOptions = {
-        threshold: 0.1,
-        rootMargin: '0px 0px -50px 0px'
-    };
+    RevealEngine.observe(document.querySelectorAll(REVEAL_SELECTOR), REVEAL_OPTIONS);
 
-    const observer = new IntersectionObserver((entries) => {
-        entries.forEach(entry => {
-            if (entry.isIntersecting) {
-                entry.target.style.opacity = '1';
-                entry.target.style.transform = 'translateY(0)';
-                
-                // Adicionar delay progressivo para itens de lista
-                if (entry.target.classList.contains('scroll-item')) {
-                    const items = Array.from(entry.target.parentElement.children);
-                    const index = items.indexOf(entry.target);
-                    entry.target.style.transitionDelay = `${index * 0.1}s`;
-                }
-            }
-        });
-    }, observerOptions);
-
-    // Aplicar efeito aos elementos
-    document.querySelectorAll('.scroll-item, .youtube-card, .gallery-item, .criterion').forEach(item => {
-        item.style.opacity = '0';
-        item.style.transform = 'translateY(30px)';
-        item.style.transition = 'opacity 0.6s ease, transform 0.6s ease';
-        observer.observe(item);
+    EventRouter.on('catalog:chunk', '[data-catalog]', (event) => {
+        RevealEngine.observe(event.detail.nodes.filter(node => node.matches(REVEAL_SELECTOR)), REVEAL_OPTIONS);
     });
 }
 
 // Sistema de Modal para Vídeos do YouTube
+// Facade: cards mostram só a miniatura (lazy); as conexões com o YouTube
+// são abertas na intenção (hover/touch) e um único iframe é reaproveitado,
+// trocando de vídeo pela API de embed em vez de recriar o DOM.
+const YOUTUBE_EMBED_ORIGIN = 'https://www.youtube.com';
+const YOUTUBE_ORIGINS = [YOUTUBE_EMBED_ORIGIN, 'https://www.google.com', 'https://i.ytimg.com'];
+const VIDEO_SOURCE = 'data/videos.json';
+const PLAYER_HANDSHAKE_INTERVAL = 250; // ms
+const PLAYER_HANDSHAKE_LIMIT = 40;     // tentativas (~10 s)
+const PLAYER_READY_EVENTS = ['onReady', 'initialDelivery', 'infoDelivery'];
+
+// Variantes de miniatura do YouTube (largura × altura); os cards usam a do
+// nível de qualidade (quality.java), o pôster do modal sempre a maior
+const THUMBNAIL_SIZES = { hqdefault: [480, 360], mqdefault: [320, 180], default: [120, 90] };
+
+function youtubeThumbnail(videoId, variant = 'hqdefault') {
+    return `https://i.ytimg.com/vi/${videoId}/${variant}.jpg`;
+}
+
+// Preconnect aos domínios do YouTube (apenas uma vez por página).
+// Sem crossorigin: a navegação do iframe e os pôsteres (<img>) são
+// requisições com credenciais, que não usam um socket anônimo (CORS)
+let youtubeWarmed = false;
+function warmYouTubeConnections() {
+    if (youtubeWarmed) return;
+    youtubeWarmed = true;
+
+    YOUTUBE_ORIGINS.forEach(origin => {
+        const link = document.createElement('link');
+        link.rel = 'preconnect';
+        link.href = origin;
+        document.head.appendChild(link);
+    });
+}
+
+// Miniatura estática com carregamento nativo sob demanda
+function addVideoPoster(card, videoId) {
+    if (card.querySelector('.youtube-thumb')) return;
+
+    const img = document.createElement('img');
+    img.className = 'youtube-thumb';
+    const variant = Quality.get('thumbnails');
+    img.src = youtubeThumbnail(videoId, variant);
+    img.alt = '';
+    img.width = THUMBNAIL_SIZES[variant][0];
+    img.height = THUMBNAIL_SIZES[variant][1];
+    img.loading = 'lazy';
+    img.decoding = 'async';
+
+    const slot = card.querySelector('.video-thumbnail') || card;
+    slot.insertBefore(img, slot.firstChild);
+}
+
+// Player único do modal: o iframe é criado no primeiro clique e reutilizado.
+// options.onPlaying: chamado quando o player avisa que começou a tocar
+// (eventos da API do iframe, pedidos com a mensagem "listening")
+// O 'load' do iframe não quer dizer que a API do player já escuta: a
+// mensagem "listening" é repetida até a primeira resposta do player
+// (onReady/infoDelivery), e só então os comandos da fila são enviados.
+// Fechar antes disso remove o iframe (o autoplay tocaria com o modal fechado).
+function createVideoPlayer(container, options = {}) {
+    let iframe = null;
+    let ready = false;
+    let currentId = null;
+    let handshake = 0;
+    const queue = [];
+
+    window.addEventListener('message', (event) => {
+        if (event.origin !== YOUTUBE_EMBED_ORIGIN || !iframe || event.source !== iframe.contentWindow) return;
+        let data;
+        try {
+            data = JSON.parse(event.data);
+        } catch (e) {
+            return;
+        }
+        if (!ready && PLAYER_READY_EVENTS.includes(data.event)) markReady();
+
+        const playing = (data.event === 'onStateChange' && data.info === 1) ||
+            (data.event === 'infoDelivery' && data.info && data.info.playerState === 1);
+        if (playing && options.onPlaying) options.onPlaying();
+    });
+
+    const poster = document.createElement('img');
+    poster.className = 'video-modal-poster';
+    poster.alt = '';
+    poster.decoding = 'async';
+    poster.hidden = true;
+    container.appendChild(poster);
+
+    function post(message) {
+        iframe.contentWindow.postMessage(JSON.stringify(message), YOUTUBE_EMBED_ORIGIN);
+    }
+
+    // Antes do player responder, os comandos esperam na fila
+    function command(func, args = []) {
+        if (ready) post({ event: 'command', func, args });
+        else queue.push({ func, args });
+    }
+
+    function listen() {
+        let attempts = 0;
+        post({ event: 'listening' });
+        handshake = setInterval(() => {
+            if (ready || !iframe || ++attempts >= PLAYER_HANDSHAKE_LIMIT) {
+                clearInterval(handshake);
+                return;
+            }
+            post({ event: 'listening' });
+        }, PLAYER_HANDSHAKE_INTERVAL);
+    }
+
+    function markReady() {
+        ready = true;
+        clearInterval(handshake);
+        poster.hidden = true;
+        queue.splice(0).forEach(({ func, args }) => post({ event: 'command', func, args }));
+    }
+
+    function play(videoId) {
+        if (videoId === currentId) {
+            command('playVideo');
+        } else {
+            command('loadVideoById', [videoId]);
+            currentId = videoId;
+        }
+    }
+
+    function load(videoId) {
+        if (iframe) {
+            play(videoId);
+            return;
+        }
+
+        // Primeiro vídeo: pôster na hora, player por trás
+        poster.src = youtubeThumbnail(videoId);
+        poster.hidden = false;
+
+        iframe = document.createElement('iframe');
+        iframe.src = `${YOUTUBE_EMBED_ORIGIN}/embed/${videoId}?autoplay=1&rel=0&enablejsapi=1&origin=${encodeURIComponent(location.origin)}`;
+        iframe.setAttribute('frameborder', '0');
+        iframe.allow = 'accelerometer; autoplay; clipboard-write; encrypted-media; gyroscope; picture-in-picture';
+        iframe.allowFullscreen = true;
+        iframe.title = 'Vídeo do YouTube - YASUKETV';
+        iframe.addEventListener('load', listen, { once: true });
+
+        currentId = videoId;
+        container.appendChild(iframe);
+    }
+
+    // Player pronto: pausa. Ainda carregando: não há como pausar o autoplay,
+    // então o iframe sai (o próximo clique cria outro)
+    function stop() {
+        if (!iframe) return;
+        if (ready) {
+            post({ event: 'command', func: 'pauseVideo', args: [] });
+        } else {
+            destroy();
+        }
+    }
+
+    // Remove o player: um iframe com autoplay não pode voltar tocando do
+    // bfcache (o próximo clique cria outro)
+    function destroy() {
+        clearInterval(handshake);
+        queue.length = 0;
+        if (iframe) iframe.remove();
+        iframe = null;
+        ready = false;
+        currentId = null;
+        poster.hidden = true;
+    }
+
+    return {
+        load,
+        stop,
+        destroy
+    };
+}
+
+// Mapeamento de vídeos do YouTube: data/videos.json (chave → ID).
+// Cards renderizados pelo catalog.java trazem o próprio item; os
+// escritos no HTML usam a chave (data-video-key)
+const videoMap = {};
+
+function videoIdFor(card) {
+    const item = Catalog.dataFor(card);
+    return item ? item.videoId : videoMap[card.getAttribute('data-video-key')];
+}
+
+function setupVideoPosters() {
+    const addPosters = cards => cards.forEach(card => {
+        const videoId = videoIdFor(card);
+        if (videoId) addVideoPoster(card, videoId);
+    });
+
+    Catalog.load(VIDEO_SOURCE)
+        .then(videos => {
+            videos.forEach(video => {
+                videoMap[video.key] = video.videoId;
+            });
+            addPosters(document.querySelectorAll('.youtube-card'));
+        })
+        .catch(error => console.warn('Vídeos indisponíveis:', error.message));
+
+    EventRouter.on('catalog:chunk', '[data-catalog]', (event) => {
+        addPosters(event.detail.nodes.filter(node => node.matches('.youtube-card')));
+    });
+}
+
+// Iniciado na primeira aproximação de um card: a intenção já justifica
+// abrir as conexões com o YouTube
 function setupVideoModal() {
     const videoModal = document.getElementById('videoModal');
     const videoContainer = document.getElementById('videoContainer');
     const closeModal = document.getElementById('closeModal');
 
-    // Mapeamento de vídeos do YouTube (substitua com seus IDs reais)
-    const videoMap = {
-        'hunter-x-hunter-analysis': 'dQw4w9WgXcQ', // Exemplo - substitua
-        'berserk-analysis': 'dQw4w9WgXcQ',        // Exemplo - substitua
-        'one-piece-analysis': 'dQw4w9WgXcQ',      // Exemplo - substitua
-        'monster-analysis': 'dQw4w9WgXcQ',        // Exemplo - substitua
-        'aot-analysis': 'dQw4w9WgXcQ'            // Exemplo - substitua
-    };
+    if (!videoModal || !videoContainer) return;
 
-    document.querySelectorAll('.youtube-card').forEach(card => {
-        card.addEventListener('click', function() {
-            const videoKey = this.getAttribute('data-video-key');
-            const videoId = videoMap[videoKey];
-            
-            if (videoId) {
-                videoContainer.innerHTML = `
-                    <iframe 
-                        src="https://www.youtube.com/embed/${videoId}?autoplay=1&rel=0" 
-                        frameborder="0" 
-                        allow="accelerometer; autoplay; clipboard-write; encrypted-media; gyroscope; picture-in-picture" 
-                        allowfullscreen
-                        title="Vídeo do YouTube - YASUKETV">
-                    </iframe>
-                `;
-                videoModal.classList.add('active');
-                document.body.style.overflow = 'hidden';
-            } else {
-                console.warn('ID do vídeo não encontrado para:', videoKey);
-            }
-        });
+    warmYouTubeConnections();
+
+    // Tempo do clique até o vídeo tocar (telemetry.java, se presente)
+    let openedAt = 0;
+    const player = createVideoPlayer(videoContainer, {
+        onPlaying() {
+            if (!openedAt) return;
+            if (typeof Telemetry !== 'undefined') Telemetry.measure('modal-open-to-play', openedAt);
+            openedAt = 0;
+        }
+    });
+
+    function openVideo(videoId) {
+        player.load(videoId);
+        videoModal.classList.add('active');
+        document.body.style.overflow = 'hidden';
+    }
+
+    // Cards escritos no HTML dependem do data/videos.json: um clique antes
+    // de ele chegar espera a mesma requisição em vez de desistir
+    EventRouter.on('click', '.youtube-card', function() {
+        const videoKey = this.getAttribute('data-video-key');
+        const videoId = videoIdFor(this);
+
+        openedAt = performance.now();
+        warmYouTubeConnections();
+        if (videoId) {
+            openVideo(videoId);
+            return;
+        }
+
+        Catalog.load(VIDEO_SOURCE)
+            .then(videos => {
+                const video = videos.find(entry => entry.key === videoKey);
+                if (video) {
+                    openVideo(video.videoId);
+                } else {
+                    openedAt = 0;
+                    console.warn('ID do vídeo não encontrado para:', videoKey);
+                }
+            })
+            .catch(error => {
+                openedAt = 0;
+                console.warn('Vídeos indisponíveis:', error.message);
+            });
     });
 
     // Fechar modal
@@ -120,13 +346,11 @@ function setupVideoModal() {
     }
 
     // Fechar modal ao clicar fora
-    if (videoModal) {
-        videoModal.addEventListener('click', function(e) {
-            if (e.target === videoModal) {
-                closeVideoModal();
-            }
-        });
-    }
+    videoModal.addEventListener('click', function(e) {
+        if (e.target === videoModal) {
+            closeVideoModal();
+        }
+    });
 
     // Fechar modal com tecla ESC
     document.addEventListener('keydown', function(e) {
@@ -135,16 +359,66 @@ function setupVideoModal() {
         }
     });
 
+    // Saindo da página: modal fechado, scroll do body liberado e player
+    // desmontado, para a volta pelo bfcache encontrar a página limpa
+    PageLifecycle.onHide(() => {
+        if (videoModal.classList.contains('active')) closeVideoModal();
+        player.destroy();
+        openedAt = 0;
+    });
+
+    // O iframe continua no DOM (pausado) para ser reutilizado no próximo vídeo
     function closeVideoModal() {
         videoModal.classList.remove('active');
-        videoContainer.innerHTML = '';
+        player.stop();
         document.body.style.overflow = 'auto';
     }
 }
 
 // Sistema de Filtros Simples (opcional - para futuras expansões)
+// Facetas com bitsets (facets.java): gêneros, ano e nota vêm do item do
+// catálogo (Catalog.dataFor) ou, nos cards escritos no HTML, de data-genres e
+// do texto; são lidos uma vez e cada clique é uma consulta E/OU que só toca
+// os itens que mudaram. Novas fatias do catálogo invalidam o índice.
+// Botões: data-filter="genre|year|rating" data-value="acao,drama | 1980-1989 | 8+ | all"
+const FACET_DEFINITIONS = {
+    genre: {
+        values: item => {
+            const data = Catalog.dataFor(item);
+            if (data && data.genres) return data.genres;
+            const genres = item.getAttribute('data-genres');
+            if (genres) return genres.split(/[,|]/);
+            const genre = item.querySelector('.anime-genre');
+            return genre ? [genre.textContent] : [];
+        }
+    },
+    year: { number: item => facetText(item, '.anime-year', 'data-year') },
+    rating: { number: item => facetText(item, '.rating-value', 'data-rating') }
+};
+const NUMERIC_FACETS = new Set(['year', 'rating']);
+
+let facetIndex = null;
+let applyFacetBits = null;
+let pendingFacet = null;
+const activeFilters = {};
+
+function facetText(item, selector, attribute) {
+    const data = Catalog.dataFor(item);
+    const key = attribute.replace('data-', '');
+    if (data && data[key] !== undefined) return String(data[key]);
+    if (item.hasAttribute(attribute)) return item.getAttribute(attribute);
+    const element = item.querySelector(selector);
+    return element ? element.textContent : '';
+}
+
 function setupSimpleFilters() {
     const filterButtons = document.querySelectorAll('[data-filter]');
+
+    // Itens novos: o índice é remontado e o filtro ativo vale para eles
+    EventRouter.on('catalog:chunk', '[data-catalog]', () => {
+        facetIndex = null;
+        if (Object.keys(activeFilters).length) queryFacets();
+    });
     
     filterButtons.forEach(button => {
         button.addEventListener('click', function() {
@@ -153,134 +427,129 @@ function setupSimpleFilters() {
             
             applyFilter(filterType, filterValue);
             
-            // Atualizar botões ativos
-            filterButtons.forEach(btn => btn.classList.remove('active'));
+            // Atualizar botões ativos (um ativo por faceta)
+            filterButtons.forEach(btn => {
+                if (btn.getAttribute('data-filter') === filterType) btn.classList.remove('active');
+            });
             this.classList.add('active');
         });
     });
 }
 
 function applyFilter(type, value) {
-    // Implementação básica de filtro - pode ser expandida conforme necessidade
-    console.log(`Aplicando filtro: ${type} = ${value}`);
+    if (!value || value === 'all') {
+        delete activeFilters[type];
+    } else {
+        activeFilters[type] = NUMERIC_FACETS.has(type) ? parseFacetRange(value) : value.split(',');
+    }
     
-    // Exemplo: Filtrar por gênero
-    if (type === 'genre') {
-        document.querySelectorAll('.scroll-item').forEach(item => {
-            const genres = item.getAttribute('data-genres');
-            if (value === 'all' || (genres && genres.includes(value))) {
-                item.style.display = 'grid';
-            } else {
-                item.style.display = 'none';
-            }
-        });
+    queryFacets();
+}
+
+function queryFacets() {
+    // Índice montado no primeiro uso (e depois de cada fatia do catálogo)
+    if (!facetIndex) {
+        const items = Array.from(document.querySelectorAll('.scroll-item'));
+        facetIndex = createFacetIndex(items, FACET_DEFINITIONS);
+        applyFacetBits = createBitsetView(items, 'filter-hidden');
     }
+
+    // Resultado e view andam juntos (um chunk pode remontar o índice antes
+    // do quadro); várias consultas no mesmo quadro viram uma só aplicação
+    const scheduled = pendingFacet !== null;
+    pendingFacet = { apply: applyFacetBits, bits: facetIndex.query(activeFilters) };
+    if (scheduled) return;
+
+    requestAnimationFrame(() => {
+        const { apply, bits } = pendingFacet;
+        pendingFacet = null;
+        apply(bits);
+    });
 }
 
 // Sistema de Busca Rápida (opcional)
+// Índice consultado no worker (search.java) e remontado quando o catálogo
+// acrescenta itens; a lista das outras páginas vem do search-index.json
+// gerado por tools/search-index.java
 function setupQuickSearch() {
     const searchInput = document.getElementById('searchInput');
     
-    if (searchInput) {
-        searchInput.addEventListener('input', function(e) {
-            const searchTerm = e.target.value.toLowerCase();
-            
-            document.querySelectorAll('.scroll-item').forEach(item => {
-                const title = item.querySelector('.anime-title').textContent.toLowerCase();
-                const description = item.querySelector('.anime-description').textContent.toLowerCase();
-                
-                if (title.includes(searchTerm) || description.includes(searchTerm)) {
-                    item.style.display = 'grid';
-                } else {
-                    item.style.display = 'none';
-                }
-            });
-        });
-    }
+    if (!searchInput) return;
+
+    const quickSearch = createQuickSearch(searchInput, {
+        items: document.querySelectorAll('.scroll-item'),
+        fields: item => ({
+            title: item.querySelector('.anime-title').textContent,
+            text: item.querySelector('.anime-description').textContent
+        }),
+        results: document.getElementById('searchResults'),
+        siteIndex: 'search-index.json'
+    });
+    if (!quickSearch) return;
+
+    // Novas fatias do catálogo: reindexar (os pedidos são agrupados no ocioso)
+    EventRouter.on('catalog:chunk', '[data-catalog]', (event) => {
+        if (event.detail.nodes.some(node => node.matches('.scroll-item'))) {
+            quickSearch.refresh(document.querySelectorAll('.scroll-item'));
+        }
+    });
 }
 
 // Efeitos de Hover Avançados
+// O brilho é uma camada .card-spotlight movida por transform; os eventos do
+// ponteiro só guardam a última posição e um rAF aplica no máximo uma por frame
 function setupHoverEffects() {
-    // Efeito de brilho nos cards do YouTube
-    document.querySelectorAll('.youtube-card').forEach(card => {
-        card.addEventListener('mousemove', function(e) {
-            const rect = this.getBoundingClientRect();
-            const x = e.clientX - rect.left;
-            const y = e.clientY - rect.top;
-            
-            this.style.setProperty('--mouse-x', `${x}px`);
-            this.style.setProperty('--mouse-y', `${y}px`);
-        });
-    });
-}
+    let pendingCard = null;
+    let pointerX = 0;
+    let pointerY = 0;
+    let frameRequested = false;
 
-// Carregamento Progressivo de Imagens
-function setupProgressiveLoading() {
-    const lazyImages = document.querySelectorAll('img[data-src]');
-    
-    const imageObserver = new IntersectionObserver((entries, observer) => {
-        entries.forEach(entry => {
-            if (entry.isIntersecting) {
-                const img = entry.target;
-                img.src = img.getAttribute('data-src');
-                img.removeAttribute('data-src');
-                imageObserver.unobserve(img);
-            }
-        });
+    function moveSpotlight() {
+        frameRequested = false;
+        const card = pendingCard;
+        if (!card) return;
+
+        // Leitura antes da escrita; transform não invalida o layout
+        const rect = card.getBoundingClientRect();
+        card._spotlight.style.transform =
+            `translate3d(${pointerX - rect.left}px, ${pointerY - rect.top}px, 0)`;
+    }
+
+    // Efeito de brilho nos cards do YouTube (camada criada no primeiro hover),
+    // só no nível de qualidade alto; um rebaixamento em uso vale na hora
+    EventRouter.on('enter', '.youtube-card', (event, card) => {
+        if (!Quality.allows('spotlight')) return;
+        if (!card._spotlight) {
+            card._spotlight = document.createElement('span');
+            card._spotlight.className = 'card-spotlight';
+            card._spotlight.setAttribute('aria-hidden', 'true');
+            card.prepend(card._spotlight);
+        }
     });
 
-    lazyImages.forEach(img => imageObserver.observe(img));
+    EventRouter.on('pointermove', '.youtube-card', (event, card) => {
+        if (!card._spotlight || !Quality.allows('spotlight')) return;
+        pendingCard = card;
+        pointerX = event.clientX;
+        pointerY = event.clientY;
+        if (!frameRequested) {
+            frameRequested = true;
+            requestAnimationFrame(moveSpotlight);
+        }
+    });
 }
 
-// Inicializar funcionalidades adicionais se necessário
-function setupAdditionalFeatures() {
-    // Configurar tooltips
-    setupTooltips();
-    
-    // Configurar contador de visualizações (simulado)
-    setupViewCounters();
+// Carregamento Progressivo de Imagens
+// Carregador único (lazy-images.java): loading="lazy" nativo, observer como
+// fallback e fetchpriority para img[data-priority]. Serve para imagens
+// com data-src adicionadas depois do carregamento.
+function setupProgressiveLoading() {
+    LazyImages.load(document.querySelectorAll('img[data-src]'));
 }
 
+// Um único tooltip reaproveitado, posicionado por transform (tooltip.java)
 function setupTooltips() {
-    const elementsWithTooltip = document.querySelectorAll('[data-tooltip]');
-    
-    elementsWithTooltip.forEach(element => {
-        element.addEventListener('mouseenter', showTooltip);
-        element.addEventListener('mouseleave', hideTooltip);
-    });
-    
-    function showTooltip(e) {
-        const tooltipText = this.getAttribute('data-tooltip');
-        const tooltip = document.createElement('div');
-        tooltip.className = 'tooltip';
-        tooltip.textContent = tooltipText;
-        tooltip.style.cssText = `
-            position: absolute;
-            background: var(--blood);
-            color: var(--parchment);
-            padding: 0.5rem 1rem;
-            border-radius: 4px;
-            font-size: 0.8rem;
-            z-index: 1000;
-            white-space: nowrap;
-            pointer-events: none;
-        `;
-        
-        document.body.appendChild(tooltip);
-        
-        const rect = this.getBoundingClientRect();
-        tooltip.style.left = `${rect.left + window.scrollX}px`;
-        tooltip.style.top = `${rect.top + window.scrollY - tooltip.offsetHeight - 10}px`;
-        
-        this._currentTooltip = tooltip;
-    }
-    
-    function hideTooltip() {
-        if (this._currentTooltip) {
-            this._currentTooltip.remove();
-            this._currentTooltip = null;
-        }
-    }
+    Tooltip.attach('[data-tooltip]');
 }
 
 function setupViewCounters() {
@@ -304,55 +573,3 @@ function formatViewCount(count) {
     }
     return count + ' views';
 }
-
-// Adicionar CSS para animações
-const style = document.createElement('style');
-style.textContent = `
-    @keyframes slideIn {
-        from { transform: translateX(100%); opacity: 0; }
-        to { transform: translateX(0); opacity: 1; }
-    }
-    
-    @keyframes fadeInUp {
-        from { 
-            opacity: 0;
-            transform: translateY(30px);
-        }
-        to { 
-            opacity: 1;
-            transform: translateY(0);
-        }
-    }
-    
-    .tooltip {
-        animation: fadeInUp 0.2s ease-out;
-    }
-    
-    /* Efeito de brilho nos cards do YouTube */
-    .youtube-card {
-        position: relative;
-        overflow: hidden;
-    }
-    
-    .youtube-card::before {
-        content: '';
-        position: absolute;
-        top: 0;
-        left: 0;
-        right: 0;
-        bottom: 0;
-        background: radial-gradient(
-            600px circle at var(--mouse-x) var(--mouse-y),
-            rgba(139, 0, 0, 0.1),
-            transparent 40%
-        );
-        opacity: 0;
-        transition: opacity 0.3s ease;
-        pointer-events: none;
-    }
-    
-    .youtube-card:hover::before {
-        opacity: 1;
-    }
-`;
-document.head.appendChild(style);
\ No newline at end of file